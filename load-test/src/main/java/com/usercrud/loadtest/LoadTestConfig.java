@@ -0,0 +1,97 @@
+package com.usercrud.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, parsed from {@code --key=value} command line arguments.
+ */
+public class LoadTestConfig {
+
+    private final Workload workload;
+    private final int ratePerSecond;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int seedUsers;
+    private final String baseUrl;
+    private final boolean boot;
+    private final Path projectDir;
+    private final Path reportFile;
+    private final long randomSeed;
+
+    private LoadTestConfig(Map<String, String> options) {
+        this.workload = Workload.fromName(options.getOrDefault("workload", "mixed"));
+        this.ratePerSecond = Integer.parseInt(options.getOrDefault("rate", "200"));
+        this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        this.warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        this.seedUsers = Integer.parseInt(options.getOrDefault("seed-users", "1000"));
+        this.baseUrl = options.getOrDefault("base-url", "http://localhost:9080/user-crud/api");
+        this.boot = Boolean.parseBoolean(options.getOrDefault("boot", "false"));
+        this.projectDir = Path.of(options.getOrDefault("project-dir", ".."));
+        this.reportFile = Path.of(options.getOrDefault("report", "target/load-test-report.json"));
+        this.randomSeed = Long.parseLong(options.getOrDefault("random-seed", "42"));
+        if (ratePerSecond <= 0 || durationSeconds <= 0 || warmupSeconds < 0 || seedUsers < 0) {
+            throw new IllegalArgumentException("rate and duration must be positive, warmup and seed-users not negative");
+        }
+    }
+
+    /**
+     * Parses command line arguments.
+     *
+     * @param args arguments of the form {@code --key=value}
+     * @return the configuration
+     * @throws IllegalArgumentException if an argument is malformed
+     */
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(options);
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    public int getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getSeedUsers() {
+        return seedUsers;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public boolean isBoot() {
+        return boot;
+    }
+
+    public Path getProjectDir() {
+        return projectDir;
+    }
+
+    public Path getReportFile() {
+        return reportFile;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+}
@@ -0,0 +1,60 @@
+package com.usercrud.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Entry point of the load test.
+ * <p>
+ * Example: {@code mvn -f load-test/pom.xml compile exec:java -Dexec.args="--boot=true --workload=read-heavy --rate=500"}
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        LocalEnvironment environment = config.isBoot()
+                ? LocalEnvironment.start(config.getProjectDir(), config.getBaseUrl())
+                : null;
+        try {
+            UserApiClient client = new UserApiClient(config.getBaseUrl(), UUID.randomUUID().toString().substring(0, 8));
+            OpenModelDriver driver = new OpenModelDriver(client, config.getRandomSeed());
+
+            System.out.println("Seeding " + config.getSeedUsers() + " users");
+            driver.seed(config.getSeedUsers());
+
+            System.out.println("Running " + config.getWorkload() + " at " + config.getRatePerSecond() + " req/s for "
+                    + config.getDurationSeconds() + "s after " + config.getWarmupSeconds() + "s warmup");
+            Instant startedAt = Instant.now();
+            Map<Operation, OperationStats> stats = driver.run(config.getWorkload(), config.getRatePerSecond(),
+                    config.getWarmupSeconds(), config.getDurationSeconds());
+
+            LoadTestReport report = new LoadTestReport(config, currentCommit(config), startedAt, stats);
+            report.write(config.getReportFile());
+            System.out.println(report.toJson());
+            System.out.println("Report written to " + config.getReportFile().toAbsolutePath());
+        } finally {
+            if (environment != null) {
+                environment.close();
+            }
+        }
+    }
+
+    private static String currentCommit(LoadTestConfig config) {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "HEAD")
+                    .directory(config.getProjectDir().toFile())
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 ? output : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.usercrud.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Machine-readable JSON report of a load test run, meant to be compared across commits.
+ * The offered rate counts requests started in the measured phase, which follows the schedule however slow the
+ * server is; the achieved throughput counts successful completions up to the last response, which does not.
+ */
+class LoadTestReport {
+
+    private final LoadTestConfig config;
+    private final String commit;
+    private final Instant startedAt;
+    private final Map<Operation, OperationStats> stats;
+
+    LoadTestReport(LoadTestConfig config, String commit, Instant startedAt, Map<Operation, OperationStats> stats) {
+        this.config = config;
+        this.commit = commit;
+        this.startedAt = startedAt;
+        this.stats = stats;
+    }
+
+    /**
+     * Writes the report as JSON.
+     *
+     * @param file the report file
+     * @throws IOException if the file cannot be written
+     */
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(file, toJson());
+    }
+
+    String toJson() {
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        long totalSuccesses = 0;
+        // One window for all operations, so per-operation throughputs add up to the total
+        long elapsedNanos = stats.values().stream()
+                .mapToLong(operationStats -> operationStats.getLastCompletedNanos() - operationStats.getMeasureStartNanos())
+                .max()
+                .orElse(0);
+        StringBuilder operations = new StringBuilder();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            if (operationStats.getRequests() == 0) {
+                continue;
+            }
+            total.add(operationStats.getLatencyMicros());
+            totalErrors += operationStats.getErrors();
+            totalSuccesses += operationStats.getSuccesses();
+            if (operations.length() > 0) {
+                operations.append(",\n");
+            }
+            operations.append("    \"").append(entry.getKey().name().toLowerCase(Locale.ROOT)).append("\": ")
+                    .append(summary(operationStats.getLatencyMicros(), operationStats.getErrors(),
+                            operationStats.getSuccesses(), elapsedNanos, "    "))
+                    .append(",\n      \"statuses\": ").append(statuses(operationStats.getStatuses()))
+                    .append("\n    }");
+        }
+
+        return "{\n" +
+                "  \"commit\": \"" + commit + "\",\n" +
+                "  \"startedAt\": \"" + startedAt + "\",\n" +
+                "  \"workload\": \"" + config.getWorkload().name().toLowerCase(Locale.ROOT).replace('_', '-') + "\",\n" +
+                "  \"targetRatePerSecond\": " + config.getRatePerSecond() + ",\n" +
+                "  \"durationSeconds\": " + config.getDurationSeconds() + ",\n" +
+                "  \"warmupSeconds\": " + config.getWarmupSeconds() + ",\n" +
+                "  \"seedUsers\": " + config.getSeedUsers() + ",\n" +
+                "  \"latencyUnit\": \"microseconds\",\n" +
+                "  \"total\": " + summary(total, totalErrors, totalSuccesses, elapsedNanos, "  ")
+                + "\n  },\n" +
+                "  \"operations\": {\n" + operations + "\n  }\n" +
+                "}\n";
+    }
+
+    private String summary(Histogram latency, long errors, long successes, long elapsedNanos, String indent) {
+        long requests = latency.getTotalCount();
+        double elapsedSeconds = elapsedNanos / 1e9;
+        String inner = indent + "  ";
+        return "{\n" +
+                inner + "\"requests\": " + requests + ",\n" +
+                inner + "\"errors\": " + errors + ",\n" +
+                inner + "\"errorRate\": " + format(requests == 0 ? 0.0 : (double) errors / requests) + ",\n" +
+                inner + "\"offeredRatePerSecond\": " + format((double) requests / config.getDurationSeconds()) + ",\n" +
+                inner + "\"achievedThroughputPerSecond\": "
+                + format(elapsedSeconds <= 0 ? 0.0 : successes / elapsedSeconds) + ",\n" +
+                inner + "\"latency\": {" +
+                "\"p50\": " + latency.getValueAtPercentile(50.0) +
+                ", \"p99\": " + latency.getValueAtPercentile(99.0) +
+                ", \"p999\": " + latency.getValueAtPercentile(99.9) +
+                ", \"max\": " + latency.getMaxValue() +
+                ", \"mean\": " + format(latency.getMean()) + "}";
+    }
+
+    private static String statuses(Map<Integer, Long> statuses) {
+        StringBuilder json = new StringBuilder("{");
+        statuses.forEach((status, count) -> {
+            if (json.length() > 1) {
+                json.append(", ");
+            }
+            json.append('"').append(status).append("\": ").append(count);
+        });
+        return json.append('}').toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+}
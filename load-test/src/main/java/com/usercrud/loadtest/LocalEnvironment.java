@@ -0,0 +1,116 @@
+package com.usercrud.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Self-contained environment for a load test: an embedded PostgreSQL server and the application
+ * started on Liberty with {@code mvn liberty:run}, configured through the same DB_* variables as
+ * {@code docker-compose.yml}.
+ */
+class LocalEnvironment implements AutoCloseable {
+
+    private static final long STARTUP_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final EmbeddedPostgres postgres;
+    private final Process server;
+
+    private LocalEnvironment(EmbeddedPostgres postgres, Process server) {
+        this.postgres = postgres;
+        this.server = server;
+    }
+
+    /**
+     * Starts the database and the application and waits until the API answers.
+     *
+     * @param projectDir the application project directory
+     * @param baseUrl    the API base URL to poll
+     * @return the running environment
+     * @throws IOException if the database or server cannot be started
+     */
+    static LocalEnvironment start(Path projectDir, String baseUrl) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        Process server;
+        try {
+            ProcessBuilder builder = new ProcessBuilder("mvn", "-B", "-q", "package", "liberty:run", "-DskipTests")
+                    .directory(projectDir.toFile())
+                    .inheritIO();
+            builder.environment().putAll(Map.of(
+                    "DB_HOST", "localhost",
+                    "DB_PORT", String.valueOf(postgres.getPort()),
+                    "DB_NAME", "postgres",
+                    "DB_USER", "postgres",
+                    "DB_PASSWORD", "postgres"));
+            server = builder.start();
+        } catch (IOException e) {
+            postgres.close();
+            throw e;
+        }
+
+        LocalEnvironment environment = new LocalEnvironment(postgres, server);
+        try {
+            environment.awaitReady(baseUrl);
+        } catch (IOException | RuntimeException e) {
+            environment.close();
+            throw e;
+        }
+        return environment;
+    }
+
+    private void awaitReady(String baseUrl) throws IOException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/users?limit=1"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT_NANOS;
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IOException("Application server exited with code " + server.exitValue());
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the application", e);
+            }
+            sleep();
+        }
+        throw new IOException("Application did not become ready at " + baseUrl);
+    }
+
+    private static void sleep() throws IOException {
+        try {
+            TimeUnit.SECONDS.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the application", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.descendants().forEach(ProcessHandle::destroy);
+        server.destroy();
+        try {
+            server.waitFor(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            postgres.close();
+        }
+    }
+}
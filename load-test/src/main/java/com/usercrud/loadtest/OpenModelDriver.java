@@ -0,0 +1,92 @@
+package com.usercrud.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are started on a fixed schedule regardless of how many
+ * earlier requests are still in flight, the way independent users arrive at a real service.
+ */
+class OpenModelDriver {
+
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final UserApiClient client;
+    private final Random random;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelDriver(UserApiClient client, long randomSeed) {
+        this.client = client;
+        this.random = new Random(randomSeed);
+    }
+
+    /**
+     * Creates users synchronously so that reads, updates and deletes have targets from the start.
+     *
+     * @param count the number of users to create
+     */
+    void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            client.send(client.prepare(Operation.CREATE, random)).join();
+        }
+    }
+
+    /**
+     * Runs the workload: an unrecorded warmup followed by the measured phase.
+     *
+     * @param workload        the operation mix
+     * @param ratePerSecond   requests started per second
+     * @param warmupSeconds   length of the warmup phase
+     * @param durationSeconds length of the measured phase
+     * @return statistics per operation of the measured phase
+     */
+    Map<Operation, OperationStats> run(Workload workload, int ratePerSecond, int warmupSeconds, int durationSeconds) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(measureStart));
+        }
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Requests that are late because the generator fell behind keep their intended start time
+            UserApiClient.Call call = client.prepare(workload.next(random), random);
+            OperationStats operationStats = intendedStart >= measureStart ? stats.get(call.operation) : null;
+            inFlight.incrementAndGet();
+            client.send(call).whenComplete((status, failure) -> {
+                long completed = System.nanoTime();
+                if (operationStats != null) {
+                    int code = failure == null ? status : 0;
+                    operationStats.record(intendedStart, completed, code,
+                            failure == null && call.operation.isExpected(status));
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+
+        awaitInFlight();
+        return stats;
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+}
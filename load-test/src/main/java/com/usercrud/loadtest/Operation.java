@@ -0,0 +1,36 @@
+package com.usercrud.loadtest;
+
+import java.util.Set;
+
+/**
+ * REST operations exercised by the load generator, with the status codes that count as success.
+ */
+public enum Operation {
+
+    CREATE(Set.of(201)),
+    GET_BY_ID(Set.of(200, 404)),
+    LIST_ALL(Set.of(200)),
+    LIST_PAGE(Set.of(200)),
+    UPDATE(Set.of(200, 404)),
+    DELETE(Set.of(204, 404)),
+    CREATE_CONFLICTING(Set.of(201, 409)),
+    RENAME_CONFLICTING(Set.of(200, 404, 409)),
+    AVAILABILITY(Set.of(200));
+
+    private final Set<Integer> expectedStatuses;
+
+    Operation(Set<Integer> expectedStatuses) {
+        this.expectedStatuses = expectedStatuses;
+    }
+
+    /**
+     * Checks whether a response status is a success for this operation.
+     * 404 is expected where another request may have deleted the user concurrently.
+     *
+     * @param status the HTTP status
+     * @return true if the status is expected
+     */
+    public boolean isExpected(int status) {
+        return expectedStatuses.contains(status);
+    }
+}
@@ -0,0 +1,87 @@
+package com.usercrud.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters of one operation.
+ * Latency is measured from the intended start time of a request, not from when it was actually sent,
+ * so a stalled server is not hidden by the generator falling behind (coordinated omission).
+ */
+class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final long measureStartNanos;
+    private final LongAccumulator lastCompletedNanos;
+
+    /**
+     * Constructor with the start of the measured phase.
+     *
+     * @param measureStartNanos the {@link System#nanoTime()} at which measurement starts
+     */
+    OperationStats(long measureStartNanos) {
+        this.measureStartNanos = measureStartNanos;
+        this.lastCompletedNanos = new LongAccumulator(Math::max, measureStartNanos);
+    }
+
+    void record(long intendedStartNanos, long completedNanos, int status, boolean success) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedStartNanos);
+        latencyMicros.recordValue(Math.max(1, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+        if (!success) {
+            errors.increment();
+        }
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        lastCompletedNanos.accumulate(completedNanos);
+    }
+
+    long getRequests() {
+        return latencyMicros.getTotalCount();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getSuccesses() {
+        return getRequests() - getErrors();
+    }
+
+    long getMeasureStartNanos() {
+        return measureStartNanos;
+    }
+
+    /**
+     * Gets the completion time of the last recorded request, or the measure start if none completed.
+     *
+     * @return the {@link System#nanoTime()} of the last completion
+     */
+    long getLastCompletedNanos() {
+        return lastCompletedNanos.get();
+    }
+
+    Histogram getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    /**
+     * Gets response counts by status; status 0 stands for requests that failed without a response.
+     *
+     * @return counts keyed by HTTP status
+     */
+    Map<Integer, Long> getStatuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
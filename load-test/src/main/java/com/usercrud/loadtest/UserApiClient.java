@@ -0,0 +1,173 @@
+package com.usercrud.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Issues UserResource requests for load test operations and keeps the user pool in sync with the responses.
+ */
+class UserApiClient {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int HOT_USERNAMES = 10;
+    private static final int AVAILABILITY_HITS_PER_TEN = 1;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+    private final String runId;
+    private final UserPool userPool = new UserPool();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong createdUsernames = new AtomicLong();
+
+    UserApiClient(String baseUrl, String runId) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.runId = runId;
+    }
+
+    /**
+     * A request ready to be sent, with the operation it is recorded under.
+     */
+    static class Call {
+        final Operation operation;
+        private final HttpRequest request;
+        private final Long takenId;
+
+        Call(Operation operation, HttpRequest request, Long takenId) {
+            this.operation = operation;
+            this.request = request;
+            this.takenId = takenId;
+        }
+    }
+
+    /**
+     * Builds the request for an operation. Operations that need an existing user fall back to
+     * {@link Operation#CREATE} while the pool is empty.
+     *
+     * @param operation the requested operation
+     * @param random    the random source
+     * @return the call to send
+     */
+    Call prepare(Operation operation, Random random) {
+        switch (operation) {
+            case GET_BY_ID: {
+                Long id = userPool.pick(random);
+                return id == null ? prepare(Operation.CREATE, random)
+                        : new Call(operation, request("/users/" + id).GET().build(), null);
+            }
+            case LIST_ALL:
+                return new Call(operation, request("/users").header("Accept-Encoding", "gzip").GET().build(), null);
+            case LIST_PAGE: {
+                Long afterId = userPool.pick(random);
+                return new Call(operation, request("/users?limit=50&afterId=" + (afterId == null ? 0 : afterId))
+                        .GET().build(), null);
+            }
+            case UPDATE: {
+                Long id = userPool.pick(random);
+                return id == null ? prepare(Operation.CREATE, random)
+                        : new Call(operation, request("/users/" + id)
+                        .PUT(json(userJson(null, "updated-" + sequence.incrementAndGet() + "-" + runId + "@example.com")))
+                        .build(), null);
+            }
+            case DELETE: {
+                Long id = userPool.take(random);
+                return id == null ? prepare(Operation.CREATE, random)
+                        : new Call(operation, request("/users/" + id).DELETE().build(), id);
+            }
+            case CREATE_CONFLICTING: {
+                String username = hotUsername(random);
+                return new Call(operation, request("/users")
+                        .POST(json(userJson(username, username + "-" + sequence.incrementAndGet() + "@example.com")))
+                        .build(), null);
+            }
+            case RENAME_CONFLICTING: {
+                Long id = userPool.pick(random);
+                return id == null ? prepare(Operation.CREATE_CONFLICTING, random)
+                        : new Call(operation, request("/users/" + id)
+                        .PUT(json(userJson(hotUsername(random), null))).build(), null);
+            }
+            case AVAILABILITY: {
+                // Mostly usernames being typed for sign-up, which do not exist yet
+                long created = createdUsernames.get();
+                String username = created > 0 && random.nextInt(10) < AVAILABILITY_HITS_PER_TEN
+                        ? createdUsername(1 + (long) random.nextInt((int) Math.min(created, Integer.MAX_VALUE)))
+                        : "lt" + runId + "-free-" + sequence.incrementAndGet();
+                return new Call(operation, request("/users/availability?username=" + username).GET().build(), null);
+            }
+            case CREATE:
+            default: {
+                String username = createdUsername(createdUsernames.incrementAndGet());
+                return new Call(Operation.CREATE, request("/users")
+                        .POST(json(userJson(username, username + "@example.com"))).build(), null);
+            }
+        }
+    }
+
+    /**
+     * Sends a call and updates the user pool from its response.
+     *
+     * @param call the call
+     * @return the response status
+     */
+    CompletableFuture<Integer> send(Call call) {
+        return httpClient.sendAsync(call.request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() == 201) {
+                        Matcher matcher = ID_PATTERN.matcher(response.body());
+                        if (matcher.find()) {
+                            userPool.add(Long.parseLong(matcher.group(1)));
+                        }
+                    } else if (call.takenId != null && response.statusCode() != 204 && response.statusCode() != 404) {
+                        // The delete did not happen, so the user is still available
+                        userPool.add(call.takenId);
+                    }
+                    return response.statusCode();
+                });
+    }
+
+    int getPoolSize() {
+        return userPool.size();
+    }
+
+    private String createdUsername(long number) {
+        return "lt" + runId + "-" + number;
+    }
+
+    private String hotUsername(Random random) {
+        return "lt" + runId + "-hot-" + random.nextInt(HOT_USERNAMES);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+
+    private static String userJson(String username, String email) {
+        StringBuilder json = new StringBuilder("{");
+        if (username != null) {
+            json.append("\"username\":\"").append(username).append('"');
+        }
+        if (email != null) {
+            json.append(username != null ? "," : "").append("\"email\":\"").append(email).append('"');
+        }
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.usercrud.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Ids of users known to exist, used to target reads, updates and deletes.
+ */
+class UserPool {
+
+    private final List<Long> ids = new ArrayList<>();
+
+    synchronized void add(long id) {
+        ids.add(id);
+    }
+
+    /**
+     * Picks a random id without removing it.
+     *
+     * @param random the random source
+     * @return an id, or null if the pool is empty
+     */
+    synchronized Long pick(Random random) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    /**
+     * Removes and returns a random id, for operations that delete the user.
+     *
+     * @param random the random source
+     * @return an id, or null if the pool is empty
+     */
+    synchronized Long take(Random random) {
+        if (ids.isEmpty()) {
+            return null;
+        }
+        int index = random.nextInt(ids.size());
+        long id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+}
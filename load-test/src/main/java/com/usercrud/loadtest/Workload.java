@@ -0,0 +1,86 @@
+package com.usercrud.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted mix of operations issued by the load generator.
+ */
+public enum Workload {
+
+    READ_HEAVY(Map.of(
+            Operation.GET_BY_ID, 60,
+            Operation.AVAILABILITY, 20,
+            Operation.LIST_PAGE, 8,
+            Operation.LIST_ALL, 2,
+            Operation.CREATE, 5,
+            Operation.UPDATE, 4,
+            Operation.DELETE, 1)),
+
+    WRITE_HEAVY(Map.of(
+            Operation.GET_BY_ID, 20,
+            Operation.LIST_PAGE, 5,
+            Operation.CREATE, 40,
+            Operation.UPDATE, 25,
+            Operation.DELETE, 10)),
+
+    MIXED(Map.of(
+            Operation.GET_BY_ID, 35,
+            Operation.AVAILABILITY, 10,
+            Operation.LIST_PAGE, 10,
+            Operation.LIST_ALL, 5,
+            Operation.CREATE, 15,
+            Operation.UPDATE, 15,
+            Operation.DELETE, 10)),
+
+    /**
+     * Many clients competing for the same few usernames, exercising the 409 paths.
+     */
+    CONFLICT_STORM(Map.of(
+            Operation.CREATE_CONFLICTING, 50,
+            Operation.RENAME_CONFLICTING, 30,
+            Operation.GET_BY_ID, 20));
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        operations = ordered.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Picks the next operation according to the weights.
+     *
+     * @param random the random source
+     * @return the operation
+     */
+    public Operation next(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Resolves a workload from its command line name, e.g. {@code read-heavy}.
+     *
+     * @param name the workload name
+     * @return the workload
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static Workload fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
@@ -0,0 +1,103 @@
+package com.usercrud.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoadTestReport.
+ */
+class LoadTestReportTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(100);
+
+    private Map<Operation, OperationStats> stats;
+    private String json;
+
+    @BeforeEach
+    void setUp() {
+        stats = new EnumMap<>(Operation.class);
+        // 80 reads with latencies of 1..80 ms, the last one completing 20 s into a 10 s run
+        OperationStats reads = new OperationStats(START);
+        for (int i = 1; i <= 80; i++) {
+            long completed = START + TimeUnit.MILLISECONDS.toNanos(250L * i);
+            reads.record(completed - TimeUnit.MILLISECONDS.toNanos(i), completed, 200, true);
+        }
+        stats.put(Operation.GET_BY_ID, reads);
+        // 20 creates of 100 ms each over the first 10 s, 5 of them failed
+        OperationStats creates = new OperationStats(START);
+        for (int i = 1; i <= 20; i++) {
+            long completed = START + TimeUnit.MILLISECONDS.toNanos(500L * i);
+            creates.record(completed - TimeUnit.MILLISECONDS.toNanos(100), completed, i <= 5 ? 500 : 201, i > 5);
+        }
+        stats.put(Operation.CREATE, creates);
+        stats.put(Operation.DELETE, new OperationStats(START));
+
+        LoadTestConfig config = LoadTestConfig.parse(new String[]{"--workload=read-heavy", "--rate=10", "--duration=10"});
+        json = new LoadTestReport(config, "abc123", Instant.EPOCH, stats).toJson();
+    }
+
+    @Test
+    void testOfferedRateCountsRequestsOverDuration() {
+        assertEquals(10.0, number(total(), "offeredRatePerSecond"));
+        assertEquals(8.0, number(operation("get_by_id"), "offeredRatePerSecond"));
+        assertEquals(2.0, number(operation("create"), "offeredRatePerSecond"));
+    }
+
+    @Test
+    void testAchievedThroughputCountsSuccessesUntilLastCompletion() {
+        // 95 successes over the 20 s until the last response, not the configured 10 s
+        assertEquals(4.75, number(total(), "achievedThroughputPerSecond"));
+        assertEquals(4.0, number(operation("get_by_id"), "achievedThroughputPerSecond"));
+        assertEquals(0.75, number(operation("create"), "achievedThroughputPerSecond"));
+    }
+
+    @Test
+    void testErrorsAndStatuses() {
+        assertEquals(100, number(total(), "requests"));
+        assertEquals(5, number(total(), "errors"));
+        assertEquals(0.05, number(total(), "errorRate"));
+        assertTrue(operation("create").contains("\"statuses\": {\"201\": 15, \"500\": 5}"));
+    }
+
+    @Test
+    void testLatencyPercentiles() {
+        Histogram histogram = new Histogram(3);
+
+        // 1..80 ms from the reads and twenty times 100 ms from the creates
+        assertTrue(histogram.valuesAreEquivalent(50_000, (long) number(total(), "p50")));
+        assertTrue(histogram.valuesAreEquivalent(100_000, (long) number(total(), "p99")));
+        assertTrue(histogram.valuesAreEquivalent(100_000, (long) number(total(), "max")));
+        assertTrue(histogram.valuesAreEquivalent(80_000, (long) number(operation("get_by_id"), "p999")));
+    }
+
+    @Test
+    void testOperationsWithoutRequestsAreOmitted() {
+        assertFalse(json.contains("\"delete\""));
+        assertTrue(json.contains("\"workload\": \"read-heavy\""));
+        assertTrue(json.contains("\"commit\": \"abc123\""));
+    }
+
+    private String total() {
+        return json.substring(json.indexOf("\"total\""), json.indexOf("\"operations\""));
+    }
+
+    private String operation(String name) {
+        return json.substring(json.indexOf("\"" + name + "\""));
+    }
+
+    private static double number(String json, String field) {
+        Matcher matcher = Pattern.compile("\"" + field + "\": ([0-9.]+)").matcher(json);
+        assertTrue(matcher.find(), "missing " + field);
+        return Double.parseDouble(matcher.group(1));
+    }
+}
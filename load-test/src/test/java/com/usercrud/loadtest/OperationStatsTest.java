@@ -0,0 +1,69 @@
+package com.usercrud.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OperationStats.
+ */
+class OperationStatsTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(100);
+
+    @Test
+    void testLatencyIsMeasuredFromIntendedStart() {
+        OperationStats stats = new OperationStats(START);
+
+        // Scheduled at START but only sent 40 ms later, because the generator fell behind; answered 5 ms after sending
+        stats.record(START, START + TimeUnit.MILLISECONDS.toNanos(45), 200, true);
+
+        Histogram latency = stats.getLatencyMicros();
+        assertEquals(1, latency.getTotalCount());
+        assertTrue(latency.valuesAreEquivalent(45_000, latency.getMaxValue()));
+    }
+
+    @Test
+    void testCountsOutcomesAndStatuses() {
+        OperationStats stats = new OperationStats(START);
+
+        stats.record(START, START + 1_000_000, 200, true);
+        stats.record(START, START + 2_000_000, 404, true);
+        stats.record(START, START + 3_000_000, 500, false);
+        stats.record(START, START + 4_000_000, 0, false);
+
+        assertEquals(4, stats.getRequests());
+        assertEquals(2, stats.getErrors());
+        assertEquals(2, stats.getSuccesses());
+        assertEquals(Map.of(0, 1L, 200, 1L, 404, 1L, 500, 1L), stats.getStatuses());
+    }
+
+    @Test
+    void testTracksLastCompletion() {
+        OperationStats stats = new OperationStats(START);
+        assertEquals(START, stats.getLastCompletedNanos());
+
+        stats.record(START, START + 9_000_000, 200, true);
+        stats.record(START, START + 3_000_000, 200, true);
+
+        assertEquals(START, stats.getMeasureStartNanos());
+        assertEquals(START + 9_000_000, stats.getLastCompletedNanos());
+    }
+
+    @Test
+    void testLatencyIsClampedToTrackableRange() {
+        OperationStats stats = new OperationStats(START);
+
+        stats.record(START, START, 200, true);
+        stats.record(START, START + TimeUnit.MINUTES.toNanos(10), 200, true);
+
+        assertEquals(2, stats.getRequests());
+        assertEquals(1, stats.getLatencyMicros().getMinValue());
+        assertTrue(stats.getLatencyMicros().getMaxValue() <= stats.getLatencyMicros().highestEquivalentValue(
+                TimeUnit.MINUTES.toMicros(2)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.usercrud.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Workload.
+ */
+class WorkloadTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    void testNextFollowsWeights() {
+        Map<Operation, Integer> counts = sample(Workload.CONFLICT_STORM);
+
+        assertEquals(3, counts.size());
+        assertEquals(0.50, share(counts, Operation.CREATE_CONFLICTING), 0.01);
+        assertEquals(0.30, share(counts, Operation.RENAME_CONFLICTING), 0.01);
+        assertEquals(0.20, share(counts, Operation.GET_BY_ID), 0.01);
+    }
+
+    @Test
+    void testNextOnlyPicksOperationsOfTheWorkload() {
+        Map<Operation, Integer> counts = sample(Workload.READ_HEAVY);
+
+        assertFalse(counts.containsKey(Operation.CREATE_CONFLICTING));
+        assertFalse(counts.containsKey(Operation.RENAME_CONFLICTING));
+        assertEquals(0.60, share(counts, Operation.GET_BY_ID), 0.01);
+        assertEquals(0.01, share(counts, Operation.DELETE), 0.005);
+    }
+
+    @Test
+    void testReadHeavyAndMixedCheckUsernameAvailability() {
+        assertEquals(0.20, share(sample(Workload.READ_HEAVY), Operation.AVAILABILITY), 0.01);
+        assertEquals(0.10, share(sample(Workload.MIXED), Operation.AVAILABILITY), 0.01);
+    }
+
+    @Test
+    void testFromName() {
+        assertEquals(Workload.READ_HEAVY, Workload.fromName("read-heavy"));
+        assertEquals(Workload.CONFLICT_STORM, Workload.fromName(" Conflict-Storm "));
+        assertThrows(IllegalArgumentException.class, () -> Workload.fromName("unknown"));
+    }
+
+    private static Map<Operation, Integer> sample(Workload workload) {
+        Random random = new Random(42);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        for (int i = 0; i < SAMPLES; i++) {
+            counts.merge(workload.next(random), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static double share(Map<Operation, Integer> counts, Operation operation) {
+        return counts.getOrDefault(operation, 0) / (double) SAMPLES;
+    }
+}
@@ -0,0 +1,48 @@
+package com.usercrud.api;
+
+import com.usercrud.monitoring.SqlMetrics;
+import com.usercrud.monitoring.SqlStatementTracker;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Tracks the SQL statements executed while handling each REST request.
+ * Statistics are recorded per resource method in {@link SqlMetrics}, which logs requests over budget.
+ */
+@Provider
+public class SqlBudgetFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String TRACKING_PROPERTY = SqlBudgetFilter.class.getName() + ".tracking";
+
+    @Inject
+    private SqlMetrics sqlMetrics;
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        // A request is the outermost scope; drop anything left behind on this pooled thread
+        SqlStatementTracker.clear();
+        SqlStatementTracker.begin();
+        requestContext.setProperty(TRACKING_PROPERTY, Boolean.TRUE);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (requestContext.getProperty(TRACKING_PROPERTY) == null) {
+            return;
+        }
+        requestContext.removeProperty(TRACKING_PROPERTY);
+        String operation = resourceInfo.getResourceMethod() == null
+                ? requestContext.getMethod() + " " + requestContext.getUriInfo().getPath()
+                : resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName();
+        sqlMetrics.record(operation, SqlStatementTracker.end());
+    }
+}
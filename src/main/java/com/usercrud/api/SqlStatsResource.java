@@ -0,0 +1,30 @@
+package com.usercrud.api;
+
+import com.usercrud.monitoring.SqlMetrics;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * REST API resource exposing SQL statement statistics per request and service method.
+ */
+@Path("/sql-stats")
+@Produces(MediaType.APPLICATION_JSON)
+public class SqlStatsResource {
+
+    @Inject
+    private SqlMetrics sqlMetrics;
+
+    /**
+     * Gets SQL statistics.
+     *
+     * @return Response with calls, statements, rows and database time per operation, and 200 status
+     */
+    @GET
+    public Response getStats() {
+        return Response.ok(sqlMetrics.getSummaries()).build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.usercrud.api;
+
+import com.usercrud.api.UserResource.ErrorResponse;
+import com.usercrud.domain.UserDeleteJob;
+import com.usercrud.service.UserDeleteJobService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST API resource for background bulk user deletion.
+ */
+@Path("/users/delete-jobs")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class UserDeleteJobResource {
+
+    @Inject
+    private UserDeleteJobService jobService;
+
+    /**
+     * Submits a bulk delete job.
+     *
+     * @param request the users to delete, by id list or username prefix
+     * @return Response with the submitted job and 202 status, or 400 if the request is invalid
+     */
+    @POST
+    public Response submitJob(DeleteJobRequest request) {
+        if (request == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Request body is required")).build();
+        }
+        try {
+            UserDeleteJob job = jobService.submitJob(request.getUserIds(), request.getUsernamePrefix());
+            return Response.accepted(job).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage())).build();
+        }
+    }
+
+    /**
+     * Gets a delete job and its progress.
+     *
+     * @param jobId the job id
+     * @return Response with the job and 200 status, or 404 if not found
+     */
+    @GET
+    @Path("/{jobId}")
+    public Response getJob(@PathParam("jobId") Long jobId) {
+        Optional<UserDeleteJob> job = jobService.getJob(jobId);
+        if (job.isPresent()) {
+            return Response.ok(job.get()).build();
+        } else {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse("Delete job not found with id: " + jobId)).build();
+        }
+    }
+
+    /**
+     * Request body for submitting a delete job.
+     */
+    public static class DeleteJobRequest {
+        private List<Long> userIds;
+        private String usernamePrefix;
+
+        public DeleteJobRequest() {
+        }
+
+        public List<Long> getUserIds() {
+            return userIds;
+        }
+
+        public void setUserIds(List<Long> userIds) {
+            this.userIds = userIds;
+        }
+
+        public String getUsernamePrefix() {
+            return usernamePrefix;
+        }
+
+        public void setUsernamePrefix(String usernamePrefix) {
+            this.usernamePrefix = usernamePrefix;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.usercrud.api;
+
+import com.usercrud.config.Settings;
+import com.usercrud.domain.User;
+import com.usercrud.service.UserService;
+import com.usercrud.service.UsersChangedEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-rendered JSON of the full user list.
+ * The list is serialized once, in raw and gzip form, into direct buffers that are served as is.
+ * Writes through {@link UserService} on this instance mark the snapshot dirty; it is rebuilt on the next request,
+ * or served stale while it is younger than the configured maximum staleness. Writes this instance does not observe,
+ * such as those of other instances, are picked up once the snapshot exceeds its maximum age.
+ */
+@ApplicationScoped
+public class UserListSnapshot {
+
+    static final String ENABLED = "usercrud.snapshot.enabled";
+    static final String MAX_STALENESS_MS = "usercrud.snapshot.max-staleness-ms";
+    static final String MAX_AGE_MS = "usercrud.snapshot.max-age-ms";
+
+    @Inject
+    private UserService userService;
+
+    private Function<List<User>, byte[]> serializer = UserListSnapshot::toJson;
+    private long maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(Settings.getLong(MAX_STALENESS_MS, 0));
+    private long maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(Settings.getLong(MAX_AGE_MS, 30_000));
+    private boolean enabled = Settings.getBoolean(ENABLED, true);
+
+    private volatile Snapshot snapshot;
+    private volatile boolean dirty = true;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong builds = new AtomicLong();
+
+    /**
+     * Default constructor required by CDI.
+     */
+    public UserListSnapshot() {
+    }
+
+    UserListSnapshot(UserService userService, Function<List<User>, byte[]> serializer, long maxStalenessMillis) {
+        this(userService, serializer, maxStalenessMillis, 0);
+    }
+
+    UserListSnapshot(UserService userService, Function<List<User>, byte[]> serializer,
+                     long maxStalenessMillis, long maxAgeMillis) {
+        this.userService = userService;
+        this.serializer = serializer;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+        this.enabled = true;
+    }
+
+    /**
+     * Checks whether snapshot mode is enabled.
+     *
+     * @return true if the user list should be served from the snapshot
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Marks the snapshot dirty after users have changed.
+     *
+     * @param event the change event
+     */
+    void onUsersChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) UsersChangedEvent event) {
+        dirty = true;
+    }
+
+    /**
+     * Gets the current snapshot, rebuilding it first if it is dirty and too old, or older than the maximum age.
+     *
+     * @return the snapshot
+     */
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (isUsable(current)) {
+            hits.incrementAndGet();
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isUsable(current)) {
+                hits.incrementAndGet();
+                return current;
+            }
+            // Clear the flag before reading so a write during the build marks the new snapshot dirty
+            dirty = false;
+            try {
+                current = build();
+            } catch (RuntimeException e) {
+                dirty = true;
+                throw e;
+            }
+            snapshot = current;
+            return current;
+        }
+    }
+
+    /**
+     * Gets build and usage statistics.
+     *
+     * @return the statistics
+     */
+    public Stats getStats() {
+        Snapshot current = snapshot;
+        return new Stats(enabled, builds.get(), hits.get(), current);
+    }
+
+    private boolean isUsable(Snapshot current) {
+        if (current == null) {
+            return false;
+        }
+        long age = System.nanoTime() - current.builtAtNanos;
+        // A max age of 0 disables the bound
+        if (maxAgeNanos > 0 && age >= maxAgeNanos) {
+            return false;
+        }
+        return !dirty || age < maxStalenessNanos;
+    }
+
+    private Snapshot build() {
+        long start = System.nanoTime();
+        List<User> users = userService.getAllUsers();
+        byte[] json = serializer.apply(users);
+        byte[] gzip = gzip(json);
+        long builtAt = System.nanoTime();
+        builds.incrementAndGet();
+        return new Snapshot(toDirectBuffer(json), toDirectBuffer(gzip), users.size(), builtAt,
+                TimeUnit.NANOSECONDS.toMillis(builtAt - start));
+    }
+
+    private static byte[] toJson(List<User> users) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Jsonb jsonb = JsonbBuilder.create()) {
+            jsonb.toJson(users, out);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize user list", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static ByteBuffer toDirectBuffer(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Immutable pre-rendered user list.
+     */
+    public static class Snapshot {
+        private final ByteBuffer json;
+        private final ByteBuffer gzip;
+        private final int userCount;
+        private final long builtAtNanos;
+        private final long buildTimeMillis;
+
+        Snapshot(ByteBuffer json, ByteBuffer gzip, int userCount, long builtAtNanos, long buildTimeMillis) {
+            this.json = json;
+            this.gzip = gzip;
+            this.userCount = userCount;
+            this.builtAtNanos = builtAtNanos;
+            this.buildTimeMillis = buildTimeMillis;
+        }
+
+        /**
+         * Gets the raw JSON. The returned buffer is an independent view that may be consumed.
+         *
+         * @return the JSON bytes
+         */
+        public ByteBuffer getJson() {
+            return json.duplicate();
+        }
+
+        /**
+         * Gets the gzip-compressed JSON. The returned buffer is an independent view that may be consumed.
+         *
+         * @return the compressed JSON bytes
+         */
+        public ByteBuffer getGzip() {
+            return gzip.duplicate();
+        }
+
+        public int getUserCount() {
+            return userCount;
+        }
+    }
+
+    /**
+     * Snapshot statistics.
+     */
+    public static class Stats {
+        private final boolean enabled;
+        private final long builds;
+        private final long hits;
+        private final int userCount;
+        private final long jsonBytes;
+        private final long gzipBytes;
+        private final long lastBuildTimeMillis;
+
+        Stats(boolean enabled, long builds, long hits, Snapshot snapshot) {
+            this.enabled = enabled;
+            this.builds = builds;
+            this.hits = hits;
+            this.userCount = snapshot == null ? 0 : snapshot.userCount;
+            this.jsonBytes = snapshot == null ? 0 : snapshot.json.capacity();
+            this.gzipBytes = snapshot == null ? 0 : snapshot.gzip.capacity();
+            this.lastBuildTimeMillis = snapshot == null ? 0 : snapshot.buildTimeMillis;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public long getBuilds() {
+            return builds;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public double getHitRate() {
+            long requests = hits + builds;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        public int getUserCount() {
+            return userCount;
+        }
+
+        public long getJsonBytes() {
+            return jsonBytes;
+        }
+
+        public long getGzipBytes() {
+            return gzipBytes;
+        }
+
+        public long getLastBuildTimeMillis() {
+            return lastBuildTimeMillis;
+        }
+    }
+}
@@ -6,10 +6,18 @@ import com.usercrud.exception.UsernameAlreadyExistsException;
 import com.usercrud.service.UserService;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -24,6 +32,9 @@ public class UserResource {
     @Inject
     private UserService userService;
 
+    @Inject
+    private UserListSnapshot userListSnapshot;
+
     /**
      * Creates a new user.
      *
@@ -63,14 +74,49 @@ public class UserResource {
     }
 
     /**
-     * Gets all users.
+     * Checks whether a username is available.
+     * The answer is advisory; creating the user returns 409 if the username was taken in the meantime.
+     *
+     * @param username the username to check
+     * @return Response with the availability and 200 status, or 400 if the username is missing
+     */
+    @GET
+    @Path("/availability")
+    public Response getUsernameAvailability(@QueryParam("username") String username) {
+        try {
+            boolean available = userService.isUsernameAvailable(username);
+            return Response.ok(new AvailabilityResponse(username, available)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage())).build();
+        }
+    }
+
+    /**
+     * Gets all users, or a page of users when a limit is given.
+     * The full list is served from the pre-rendered snapshot when snapshot mode is enabled.
      *
-     * @return Response with list of all users and 200 status
+     * @param afterId        return only users with an id greater than this value (paged mode)
+     * @param limit          the maximum number of users to return (paged mode)
+     * @param acceptEncoding the Accept-Encoding request header
+     * @return Response with list of users and 200 status, or 400 if the limit is invalid
      */
     @GET
-    public Response getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return Response.ok(users).build();
+    public Response getAllUsers(@QueryParam("afterId") Long afterId, @QueryParam("limit") Integer limit,
+                                @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        if (limit == null) {
+            if (userListSnapshot.isEnabled()) {
+                return snapshotResponse(userListSnapshot.get(), acceptEncoding);
+            }
+            return Response.ok(userService.getAllUsers()).build();
+        }
+        try {
+            List<User> users = userService.getUsersPage(afterId, limit);
+            return Response.ok(users).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage())).build();
+        }
     }
 
     /**
@@ -113,6 +159,68 @@ public class UserResource {
         }
     }
 
+    private static Response snapshotResponse(UserListSnapshot.Snapshot snapshot, String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ByteBuffer body = gzip ? snapshot.getGzip() : snapshot.getJson();
+        StreamingOutput output = (OutputStream out) -> write(body, out);
+        Response.ResponseBuilder response = Response.ok(output, MediaType.APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.CONTENT_LENGTH, body.remaining())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.build();
+    }
+
+    /**
+     * Checks whether an Accept-Encoding header allows a gzip response.
+     * A coding with q=0 is refused, and a wildcard applies to gzip only when gzip is not listed itself.
+     *
+     * @param acceptEncoding the header value, or null
+     * @return true if gzip is acceptable
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    q = parseQValue(parameter.substring(2).trim());
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                wildcard = Math.max(wildcard, q);
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : wildcard > 0;
+    }
+
+    private static double parseQValue(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            // Treat a malformed weight as a refusal rather than guessing
+            return 0;
+        }
+    }
+
+    private static void write(ByteBuffer body, OutputStream out) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(out);
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+        out.flush();
+    }
+
     /**
      * Simple error response class.
      */
@@ -134,4 +242,36 @@ public class UserResource {
             this.message = message;
         }
     }
+
+    /**
+     * Username availability response class.
+     */
+    public static class AvailabilityResponse {
+        private String username;
+        private boolean available;
+
+        public AvailabilityResponse() {
+        }
+
+        public AvailabilityResponse(String username, boolean available) {
+            this.username = username;
+            this.available = available;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public void setAvailable(boolean available) {
+            this.available = available;
+        }
+    }
 }
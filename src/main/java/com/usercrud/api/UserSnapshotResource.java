@@ -0,0 +1,29 @@
+package com.usercrud.api;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * REST API resource exposing statistics of the pre-rendered user list snapshot.
+ */
+@Path("/users/snapshot")
+@Produces(MediaType.APPLICATION_JSON)
+public class UserSnapshotResource {
+
+    @Inject
+    private UserListSnapshot userListSnapshot;
+
+    /**
+     * Gets snapshot statistics.
+     *
+     * @return Response with build count, hit rate, sizes and last build time, and 200 status
+     */
+    @GET
+    public Response getStats() {
+        return Response.ok(userListSnapshot.getStats()).build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.usercrud.api;
+
+import com.usercrud.service.UsernameFilter;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * REST API resource exposing statistics of the username Bloom filter.
+ */
+@Path("/users/username-filter")
+@Produces(MediaType.APPLICATION_JSON)
+public class UsernameFilterResource {
+
+    @Inject
+    private UsernameFilter usernameFilter;
+
+    /**
+     * Gets username filter statistics.
+     *
+     * @return Response with memory use, false positive rates and avoided queries, and 200 status
+     */
+    @GET
+    public Response getStats() {
+        return Response.ok(usernameFilter.getStats()).build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.usercrud.config;
+
+/**
+ * Access to application settings.
+ * A setting named {@code usercrud.some-key} is read from the system property of the same name,
+ * falling back to the environment variable {@code USERCRUD_SOME_KEY} and then to the given default.
+ */
+public final class Settings {
+
+    private Settings() {
+    }
+
+    /**
+     * Gets a string setting.
+     *
+     * @param key          the setting key
+     * @param defaultValue the value to use when the setting is not defined
+     * @return the setting value
+     */
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            value = System.getenv(toEnvironmentName(key));
+        }
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Gets an integer setting.
+     *
+     * @param key          the setting key
+     * @param defaultValue the value to use when the setting is not defined
+     * @return the setting value
+     * @throws IllegalStateException if the setting is not a valid integer
+     */
+    public static int getInt(String key, int defaultValue) {
+        return (int) getLong(key, defaultValue);
+    }
+
+    /**
+     * Gets a long setting.
+     *
+     * @param key          the setting key
+     * @param defaultValue the value to use when the setting is not defined
+     * @return the setting value
+     * @throws IllegalStateException if the setting is not a valid number
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid numeric value for setting " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * Gets a decimal setting.
+     *
+     * @param key          the setting key
+     * @param defaultValue the value to use when the setting is not defined
+     * @return the setting value
+     * @throws IllegalStateException if the setting is not a valid number
+     */
+    public static double getDouble(String key, double defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid numeric value for setting " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * Gets a boolean setting.
+     *
+     * @param key          the setting key
+     * @param defaultValue the value to use when the setting is not defined
+     * @return the setting value
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    private static String toEnvironmentName(String key) {
+        return key.toUpperCase().replace('.', '_').replace('-', '_');
+    }
+}
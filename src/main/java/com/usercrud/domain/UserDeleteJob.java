@@ -0,0 +1,233 @@
+package com.usercrud.domain;
+
+import jakarta.json.bind.annotation.JsonbTransient;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Background job that deletes a set of users in chunks.
+ * The users to delete are selected either by an explicit id list or by a username prefix.
+ * Progress is tracked with an id cursor so that an interrupted job can be resumed.
+ */
+@Entity
+@Table(name = "user_delete_jobs")
+public class UserDeleteJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Longest username prefix a job can store, the length of the username column.
+     */
+    public static final int MAX_USERNAME_PREFIX_LENGTH = 50;
+
+    /**
+     * Lifecycle states of a delete job.
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(length = MAX_USERNAME_PREFIX_LENGTH)
+    private String usernamePrefix;
+
+    @JsonbTransient
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "user_delete_job_ids", joinColumns = @JoinColumn(name = "job_id"))
+    @Column(name = "user_id", nullable = false)
+    private Set<Long> userIds = new LinkedHashSet<>();
+
+    @Column(nullable = false)
+    private long totalCount;
+
+    @Column(nullable = false)
+    private long deletedCount;
+
+    @Column(nullable = false)
+    private long lastProcessedId;
+
+    @Column(length = 500)
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public UserDeleteJob() {
+    }
+
+    /**
+     * Creates a job that deletes the given user ids.
+     *
+     * @param userIds the ids of the users to delete
+     * @return the new job
+     */
+    public static UserDeleteJob forUserIds(Set<Long> userIds) {
+        UserDeleteJob job = new UserDeleteJob();
+        job.userIds = new LinkedHashSet<>(userIds);
+        job.totalCount = userIds.size();
+        return job;
+    }
+
+    /**
+     * Creates a job that deletes all users whose username starts with the given prefix.
+     *
+     * @param usernamePrefix the username prefix
+     * @param totalCount     the number of matching users at submission time
+     * @return the new job
+     */
+    public static UserDeleteJob forUsernamePrefix(String usernamePrefix, long totalCount) {
+        UserDeleteJob job = new UserDeleteJob();
+        job.usernamePrefix = usernamePrefix;
+        job.totalCount = totalCount;
+        return job;
+    }
+
+    /**
+     * Records a processed chunk and moves the cursor past it.
+     *
+     * @param lastIdInChunk the highest user id of the chunk
+     * @param deleted       the number of users actually deleted
+     */
+    public void recordChunk(long lastIdInChunk, int deleted) {
+        this.status = Status.RUNNING;
+        this.lastProcessedId = lastIdInChunk;
+        this.deletedCount += deleted;
+    }
+
+    /**
+     * Checks whether the job has reached a final state.
+     *
+     * @return true if completed or failed
+     */
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    @PrePersist
+    void onCreate() {
+        createdAt = Instant.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getUsernamePrefix() {
+        return usernamePrefix;
+    }
+
+    public void setUsernamePrefix(String usernamePrefix) {
+        this.usernamePrefix = usernamePrefix;
+    }
+
+    public Set<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(Set<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public long getDeletedCount() {
+        return deletedCount;
+    }
+
+    public void setDeletedCount(long deletedCount) {
+        this.deletedCount = deletedCount;
+    }
+
+    public long getLastProcessedId() {
+        return lastProcessedId;
+    }
+
+    public void setLastProcessedId(long lastProcessedId) {
+        this.lastProcessedId = lastProcessedId;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserDeleteJob that = (UserDeleteJob) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "UserDeleteJob{" +
+                "id=" + id +
+                ", status=" + status +
+                ", deletedCount=" + deletedCount +
+                ", totalCount=" + totalCount +
+                '}';
+    }
+}
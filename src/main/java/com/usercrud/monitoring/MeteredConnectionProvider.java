@@ -0,0 +1,18 @@
+package com.usercrud.monitoring;
+
+import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hibernate connection provider that meters every statement executed on the data source connections.
+ * Enabled with the {@code hibernate.connection.provider_class} property.
+ */
+public class MeteredConnectionProvider extends DatasourceConnectionProviderImpl {
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return MeteredJdbc.wrap(super.getConnection());
+    }
+}
@@ -0,0 +1,93 @@
+package com.usercrud.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * JDBC proxies that report executed statements, rows and execution time to {@link SqlStatementTracker}.
+ */
+final class MeteredJdbc {
+
+    private MeteredJdbc() {
+    }
+
+    /**
+     * Wraps a connection so that all statements created from it are metered.
+     *
+     * @param connection the connection to wrap
+     * @return the metered connection
+     */
+    static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof Statement) {
+                return wrapStatement((Statement) result, method.getReturnType());
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Statement wrapStatement(Statement statement, Class<?> type) {
+        return proxy((Class<Statement>) type, statement, (target, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return method.invoke(target, args);
+            }
+            long start = System.nanoTime();
+            Object result = method.invoke(target, args);
+            SqlStatementTracker.recordStatement(updatedRows(result), System.nanoTime() - start);
+            if (result instanceof ResultSet) {
+                return wrapResultSet((ResultSet) result);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                SqlStatementTracker.recordRows(1);
+            }
+            return result;
+        });
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Integer || result instanceof Long) {
+            return Math.max(0, ((Number) result).longValue());
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(MeteredJdbc.class.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object invoke(T target, Method method, Object[] args) throws Exception;
+    }
+}
@@ -0,0 +1,31 @@
+package com.usercrud.monitoring;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Records the SQL statements executed by each call of a {@link SqlMetered} bean method.
+ */
+@SqlMetered
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class SqlMeteringInterceptor {
+
+    @Inject
+    private SqlMetrics sqlMetrics;
+
+    @AroundInvoke
+    public Object meter(InvocationContext context) throws Exception {
+        SqlStatementTracker.begin();
+        try {
+            return context.proceed();
+        } finally {
+            SqlStatistics statistics = SqlStatementTracker.end();
+            sqlMetrics.record(context.getMethod().getDeclaringClass().getSimpleName()
+                    + "." + context.getMethod().getName(), statistics);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.usercrud.monitoring;
+
+import com.usercrud.config.Settings;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Aggregated SQL statistics per operation (REST request or service method).
+ * Operations that execute more statements than the configured budget are logged.
+ */
+@ApplicationScoped
+public class SqlMetrics {
+
+    private static final Logger LOGGER = Logger.getLogger(SqlMetrics.class.getName());
+
+    static final String STATEMENT_BUDGET = "usercrud.sql.statement-budget";
+
+    private final long statementBudget = Settings.getLong(STATEMENT_BUDGET, 5);
+
+    private final ConcurrentMap<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    /**
+     * Records the statistics of one operation call.
+     *
+     * @param operation  the operation name
+     * @param statistics the statistics of the call
+     */
+    public void record(String operation, SqlStatistics statistics) {
+        aggregates.computeIfAbsent(operation, key -> new Aggregate()).add(statistics);
+        if (statementBudget > 0 && statistics.getStatements() > statementBudget) {
+            LOGGER.warning(operation + " exceeded the SQL statement budget of " + statementBudget + ": " + statistics);
+        }
+    }
+
+    /**
+     * Gets the aggregated statistics of all recorded operations.
+     *
+     * @return summaries keyed by operation name
+     */
+    public Map<String, Summary> getSummaries() {
+        Map<String, Summary> summaries = new TreeMap<>();
+        aggregates.forEach((operation, aggregate) -> summaries.put(operation, aggregate.toSummary()));
+        return summaries;
+    }
+
+    private static class Aggregate {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder dbTimeNanos = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        void add(SqlStatistics statistics) {
+            calls.increment();
+            statements.add(statistics.getStatements());
+            rows.add(statistics.getRows());
+            dbTimeNanos.add(statistics.getDbTimeNanos());
+            maxStatements.accumulate(statistics.getStatements());
+        }
+
+        Summary toSummary() {
+            return new Summary(calls.sum(), statements.sum(), rows.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(dbTimeNanos.sum()), maxStatements.get());
+        }
+    }
+
+    /**
+     * Aggregated statistics of one operation.
+     */
+    public static class Summary {
+        private final long calls;
+        private final long statements;
+        private final long rows;
+        private final long dbTimeMillis;
+        private final long maxStatements;
+
+        Summary(long calls, long statements, long rows, long dbTimeMillis, long maxStatements) {
+            this.calls = calls;
+            this.statements = statements;
+            this.rows = rows;
+            this.dbTimeMillis = dbTimeMillis;
+            this.maxStatements = maxStatements;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getDbTimeMillis() {
+            return dbTimeMillis;
+        }
+
+        public long getMaxStatements() {
+            return maxStatements;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.usercrud.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Thread-bound tracking scopes for SQL statements.
+ * Scopes nest: a statement executed inside a service method scope is also counted by the
+ * enclosing request scope. Statements executed outside any scope are not tracked.
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<Deque<SqlStatistics>> SCOPES = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    /**
+     * Opens a new tracking scope on the current thread.
+     */
+    public static void begin() {
+        Deque<SqlStatistics> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        scopes.push(new SqlStatistics());
+    }
+
+    /**
+     * Closes the innermost tracking scope on the current thread.
+     *
+     * @return the statistics collected in the scope
+     * @throws IllegalStateException if no scope is open
+     */
+    public static SqlStatistics end() {
+        Deque<SqlStatistics> scopes = SCOPES.get();
+        if (scopes == null || scopes.isEmpty()) {
+            throw new IllegalStateException("No SQL tracking scope is open");
+        }
+        SqlStatistics statistics = scopes.pop();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+        return statistics;
+    }
+
+    /**
+     * Discards all open scopes on the current thread, e.g. ones left open by an aborted request.
+     */
+    public static void clear() {
+        SCOPES.remove();
+    }
+
+    static void recordStatement(long rows, long elapsedNanos) {
+        Deque<SqlStatistics> scopes = SCOPES.get();
+        if (scopes != null) {
+            scopes.forEach(scope -> scope.record(rows, elapsedNanos));
+        }
+    }
+
+    static void recordRows(long rows) {
+        Deque<SqlStatistics> scopes = SCOPES.get();
+        if (scopes != null) {
+            scopes.forEach(scope -> scope.addRows(rows));
+        }
+    }
+}
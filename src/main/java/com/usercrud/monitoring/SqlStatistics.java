@@ -0,0 +1,58 @@
+package com.usercrud.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL statement counters of one tracking scope, such as a request or a service method call.
+ * Instances are confined to the thread that owns the scope.
+ */
+public class SqlStatistics {
+
+    private long statements;
+    private long rows;
+    private long dbTimeNanos;
+
+    void record(long rowCount, long elapsedNanos) {
+        statements++;
+        rows += rowCount;
+        dbTimeNanos += elapsedNanos;
+    }
+
+    void addRows(long rowCount) {
+        rows += rowCount;
+    }
+
+    /**
+     * Gets the number of statements executed, counting a JDBC batch as one round-trip.
+     *
+     * @return the statement count
+     */
+    public long getStatements() {
+        return statements;
+    }
+
+    /**
+     * Gets the number of rows read or written.
+     *
+     * @return the row count
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the time spent executing statements.
+     *
+     * @return the database time in nanoseconds
+     */
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + statements +
+                ", rows=" + rows +
+                ", dbTimeMs=" + TimeUnit.NANOSECONDS.toMillis(dbTimeNanos);
+    }
+}
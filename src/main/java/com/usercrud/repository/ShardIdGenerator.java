@@ -0,0 +1,119 @@
+package com.usercrud.repository;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style generator for shard-encoded user ids.
+ * An id is laid out as 40 bits of milliseconds since 2024-01-01, 6 bits of shard index,
+ * 3 bits of node id and a 4 bit sequence, so ids are roughly time-ordered across shards
+ * and the owning shard can be read back from the id alone.
+ * <p>
+ * Ids stay within 53 bits so JSON clients that parse numbers as doubles, such as JavaScript, read them exactly.
+ * The timestamp lasts until 2058.
+ * <p>
+ * The timestamp of an id never runs ahead of the clock: when the sequence is exhausted, or the clock has moved
+ * backwards, the generator waits for the clock to catch up. An instance restarted at any time therefore cannot
+ * reissue an id it handed out before.
+ */
+public class ShardIdGenerator {
+
+    static final long EPOCH_MILLIS = 1704067200000L;
+
+    static final int TIMESTAMP_BITS = 40;
+    static final int SEQUENCE_BITS = 4;
+    static final int NODE_BITS = 3;
+    static final int SHARD_BITS = 6;
+
+    /**
+     * Largest integer a double represents exactly (JavaScript {@code Number.MAX_SAFE_INTEGER}).
+     */
+    public static final long MAX_SAFE_ID = (1L << 53) - 1;
+
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+    public static final int MAX_NODES = 1 << NODE_BITS;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int SHARD_SHIFT = SEQUENCE_BITS + NODE_BITS;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + NODE_BITS + SHARD_BITS;
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+    static final long MAX_CLOCK_WAIT_MILLIS = 1000;
+
+    private final int nodeId;
+    private final LongSupplier clock;
+
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    /**
+     * Constructor with node id.
+     *
+     * @param nodeId the id of this application instance, unique among instances writing to the same shards
+     */
+    public ShardIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    ShardIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId >= MAX_NODES) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + (MAX_NODES - 1));
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Generates the next id for the given shard.
+     *
+     * @param shard the shard index
+     * @return a new unique id
+     * @throws IllegalStateException if the timestamp no longer fits the id layout, or the clock has moved
+     *                               backwards by more than {@value #MAX_CLOCK_WAIT_MILLIS} ms
+     */
+    public synchronized long nextId(int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard index must be between 0 and " + (MAX_SHARDS - 1));
+        }
+        long timestamp = waitUntil(lastTimestamp);
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                timestamp = waitUntil(lastTimestamp + 1);
+            }
+        }
+        if (timestamp != lastTimestamp) {
+            sequence = 0;
+        }
+        if (timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("Clock is beyond the range of the id layout");
+        }
+        lastTimestamp = timestamp;
+
+        return (timestamp << TIMESTAMP_SHIFT)
+                | ((long) shard << SHARD_SHIFT)
+                | ((long) nodeId << NODE_SHIFT)
+                | sequence;
+    }
+
+    private long waitUntil(long minTimestamp) {
+        long timestamp = clock.getAsLong() - EPOCH_MILLIS;
+        if (minTimestamp - timestamp > MAX_CLOCK_WAIT_MILLIS) {
+            throw new IllegalStateException("Clock moved backwards by " + (minTimestamp - timestamp) + " ms");
+        }
+        while (timestamp < minTimestamp) {
+            Thread.onSpinWait();
+            timestamp = clock.getAsLong() - EPOCH_MILLIS;
+        }
+        return timestamp;
+    }
+
+    /**
+     * Extracts the shard index from an id.
+     *
+     * @param id the id
+     * @return the shard index
+     */
+    public static int shardOf(long id) {
+        return (int) ((id >>> SHARD_SHIFT) & (MAX_SHARDS - 1));
+    }
+}
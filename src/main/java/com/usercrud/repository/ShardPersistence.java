@@ -0,0 +1,87 @@
+package com.usercrud.repository;
+
+import com.usercrud.config.Settings;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.jpa.HibernatePersistenceProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the entity manager factories used by {@link ShardedUserRepository}.
+ * By default shard {@code i} uses the data source {@code jdbc/userShard<i>}. When JDBC URLs are configured,
+ * plain JDBC connections are used instead, which allows running against several local PostgreSQL databases
+ * outside the server.
+ * <p>
+ * The persistence unit is defined here rather than in {@code persistence.xml}, so the server does not
+ * try to start it when sharding is not in use.
+ */
+final class ShardPersistence {
+
+    static final String SHARD_UNIT = "userShardPU";
+
+    static final String SHARD_COUNT = "usercrud.shards.count";
+    static final String SHARD_JDBC_URLS = "usercrud.shards.jdbc-urls";
+    static final String JDBC_USER = "usercrud.shards.jdbc-user";
+    static final String JDBC_PASSWORD = "usercrud.shards.jdbc-password";
+    static final String NODE_ID = "usercrud.shards.node-id";
+    static final String RESERVATION_TIMEOUT_SECONDS = "usercrud.shards.reservation-timeout-seconds";
+
+    private ShardPersistence() {
+    }
+
+    static List<EntityManagerFactory> createShardFactories() {
+        List<EntityManagerFactory> factories = new ArrayList<>();
+        String jdbcUrls = Settings.getString(SHARD_JDBC_URLS, null);
+        if (jdbcUrls != null) {
+            for (String url : jdbcUrls.split(",")) {
+                factories.add(createFactory(shardUnit(), jdbcProperties(url.trim())));
+            }
+        } else {
+            int shardCount = Settings.getInt(SHARD_COUNT, 2);
+            for (int i = 0; i < shardCount; i++) {
+                factories.add(createFactory(shardUnit(), dataSourceProperties("jdbc/userShard" + i)));
+            }
+        }
+        if (factories.isEmpty() || factories.size() > ShardIdGenerator.MAX_SHARDS) {
+            throw new IllegalStateException("Shard count must be between 1 and " + ShardIdGenerator.MAX_SHARDS);
+        }
+        return factories;
+    }
+
+    static ShardIdGenerator createIdGenerator() {
+        return new ShardIdGenerator(Settings.getInt(NODE_ID, 0));
+    }
+
+    static Duration reservationTimeout() {
+        return Duration.ofSeconds(Settings.getLong(RESERVATION_TIMEOUT_SECONDS, 60));
+    }
+
+    private static ShardPersistenceUnitInfo shardUnit() {
+        // Each shard also holds its partition of the username and email directories
+        return new ShardPersistenceUnitInfo(SHARD_UNIT,
+                List.of(ShardUserEntity.class, UserShardDirectoryEntry.class, UserEmailDirectoryEntry.class));
+    }
+
+    private static EntityManagerFactory createFactory(ShardPersistenceUnitInfo unit, Map<String, Object> properties) {
+        return new HibernatePersistenceProvider().createContainerEntityManagerFactory(unit, properties);
+    }
+
+    private static Map<String, Object> dataSourceProperties(String jndiName) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("jakarta.persistence.nonJtaDataSource", jndiName);
+        return properties;
+    }
+
+    private static Map<String, Object> jdbcProperties(String url) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("jakarta.persistence.jdbc.driver", "org.postgresql.Driver");
+        properties.put("jakarta.persistence.jdbc.url", url);
+        properties.put("jakarta.persistence.jdbc.user", Settings.getString(JDBC_USER, "userapp"));
+        properties.put("jakarta.persistence.jdbc.password", Settings.getString(JDBC_PASSWORD, "userpass123"));
+        return properties;
+    }
+}
@@ -0,0 +1,121 @@
+package com.usercrud.repository;
+
+import jakarta.persistence.SharedCacheMode;
+import jakarta.persistence.ValidationMode;
+import jakarta.persistence.spi.ClassTransformer;
+import jakarta.persistence.spi.PersistenceUnitInfo;
+import jakarta.persistence.spi.PersistenceUnitTransactionType;
+import org.hibernate.jpa.HibernatePersistenceProvider;
+
+import javax.sql.DataSource;
+import java.net.URL;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Resource-local persistence unit defined in code rather than in {@code persistence.xml}.
+ * The container starts every unit it finds in the descriptor at deploy time, which would fail for the
+ * shard units whenever sharding is switched off and their data sources do not exist.
+ */
+class ShardPersistenceUnitInfo implements PersistenceUnitInfo {
+
+    private final String name;
+    private final List<Class<?>> managedClasses;
+    private final Properties properties = new Properties();
+
+    ShardPersistenceUnitInfo(String name, List<Class<?>> managedClasses) {
+        this.name = name;
+        this.managedClasses = managedClasses;
+        properties.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+        properties.setProperty("hibernate.hbm2ddl.auto", "update");
+        properties.setProperty("hibernate.enhancer.enableDirtyTracking", "false");
+        properties.setProperty("hibernate.enhancer.enableLazyInitialization", "false");
+    }
+
+    @Override
+    public String getPersistenceUnitName() {
+        return name;
+    }
+
+    @Override
+    public String getPersistenceProviderClassName() {
+        return HibernatePersistenceProvider.class.getName();
+    }
+
+    @Override
+    public PersistenceUnitTransactionType getTransactionType() {
+        return PersistenceUnitTransactionType.RESOURCE_LOCAL;
+    }
+
+    @Override
+    public DataSource getJtaDataSource() {
+        return null;
+    }
+
+    @Override
+    public DataSource getNonJtaDataSource() {
+        // Passed as a JNDI name or as JDBC settings when the factory is created
+        return null;
+    }
+
+    @Override
+    public List<String> getMappingFileNames() {
+        return List.of();
+    }
+
+    @Override
+    public List<URL> getJarFileUrls() {
+        return List.of();
+    }
+
+    @Override
+    public URL getPersistenceUnitRootUrl() {
+        return null;
+    }
+
+    @Override
+    public List<String> getManagedClassNames() {
+        return managedClasses.stream().map(Class::getName).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean excludeUnlistedClasses() {
+        return true;
+    }
+
+    @Override
+    public SharedCacheMode getSharedCacheMode() {
+        return SharedCacheMode.UNSPECIFIED;
+    }
+
+    @Override
+    public ValidationMode getValidationMode() {
+        return ValidationMode.NONE;
+    }
+
+    @Override
+    public Properties getProperties() {
+        return properties;
+    }
+
+    @Override
+    public String getPersistenceXMLSchemaVersion() {
+        return "3.0";
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return ShardPersistenceUnitInfo.class.getClassLoader();
+    }
+
+    @Override
+    public void addTransformer(ClassTransformer transformer) {
+        // No runtime enhancement, as for the container-managed unit
+    }
+
+    @Override
+    public ClassLoader getNewTempClassLoader() {
+        return null;
+    }
+}
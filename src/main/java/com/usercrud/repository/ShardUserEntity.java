@@ -0,0 +1,58 @@
+package com.usercrud.repository;
+
+import com.usercrud.domain.User;
+import jakarta.persistence.*;
+
+/**
+ * Row of the users table on a shard database.
+ * Unlike {@link User}, the id is assigned by {@link ShardIdGenerator} instead of an identity column.
+ */
+@Entity
+@Table(name = "users")
+public class ShardUserEntity {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 50)
+    private String username;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String email;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ShardUserEntity() {
+    }
+
+    ShardUserEntity(Long id, String username, String email) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+    }
+
+    User toUser() {
+        return new User(id, username, email);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+}
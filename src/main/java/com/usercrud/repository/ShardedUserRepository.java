@@ -0,0 +1,546 @@
+package com.usercrud.repository;
+
+import com.usercrud.domain.User;
+import com.usercrud.exception.UserNotFoundException;
+import com.usercrud.exception.UsernameAlreadyExistsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.PersistenceException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Hash-sharded implementation of UserRepository.
+ * Users are spread over several databases; the owning shard is encoded in the user id by
+ * {@link ShardIdGenerator}, so id lookups go straight to one shard. A username directory keeps username
+ * lookups and uniqueness checks single-hop, and an email directory keeps emails unique across shards.
+ * Queries over all users are sent to every shard in parallel and merged by id.
+ * <p>
+ * The directories are partitioned over the shard databases by the hash of the username or email, so every
+ * write lands on the shards its keys hash to and no database sees all writes. A new user is stored on the
+ * shard of its username, so its username entry and row commit in one transaction; the email entry joins
+ * that transaction when the email hashes to the same shard and is reserved beforehand otherwise.
+ * Changing the shard count therefore requires redistributing the directory entries.
+ * <p>
+ * Entries on another shard are written before the row, so a crash in between leaves a reservation without a
+ * matching user. Such entries are ignored by lookups and reclaimed by the next save or rename that needs the
+ * same username or email, once they are older than {@code usercrud.shards.reservation-timeout-seconds}.
+ * <p>
+ * Enable it by selecting this class as an alternative in {@code beans.xml}.
+ */
+@Alternative
+@ApplicationScoped
+public class ShardedUserRepository implements UserRepository {
+
+    private static final Logger LOGGER = Logger.getLogger(ShardedUserRepository.class.getName());
+
+    private static final int NO_SHARD = -1;
+
+    @Resource
+    private ManagedExecutorService managedExecutor;
+
+    private final Duration reservationTimeout = ShardPersistence.reservationTimeout();
+
+    private List<EntityManagerFactory> shards;
+    private ShardIdGenerator idGenerator;
+    private Executor executor;
+
+    /**
+     * Default constructor required by CDI. Shards are configured through {@link ShardPersistence}.
+     */
+    public ShardedUserRepository() {
+    }
+
+    ShardedUserRepository(List<EntityManagerFactory> shards, ShardIdGenerator idGenerator, Executor executor) {
+        this.shards = shards;
+        this.idGenerator = idGenerator;
+        this.executor = executor;
+    }
+
+    @PostConstruct
+    void init() {
+        shards = ShardPersistence.createShardFactories();
+        idGenerator = ShardPersistence.createIdGenerator();
+        executor = managedExecutor;
+    }
+
+    @PreDestroy
+    void close() {
+        shards.forEach(EntityManagerFactory::close);
+    }
+
+    @Override
+    public User save(User user) {
+        int shard = directoryShard(user.getUsername());
+        long id = idGenerator.nextId(shard);
+        boolean emailElsewhere = directoryShard(user.getEmail()) != shard;
+
+        if (emailElsewhere) {
+            reserveEmail(user.getEmail(), id);
+        }
+        try {
+            insert(shard, id, user, !emailElsewhere);
+        } catch (RuntimeException e) {
+            if (emailElsewhere) {
+                releaseEntries(null, user.getEmail(), NO_SHARD);
+            }
+            throw e;
+        }
+
+        user.setId(id);
+        return user;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return shardFor(id).map(shard -> read(shard, em -> em.find(ShardUserEntity.class, id)))
+                .map(ShardUserEntity::toUser);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return findDirectoryEntry(username)
+                .flatMap(this::findReservedUser)
+                .filter(entity -> entity.getUsername().equals(username))
+                .map(ShardUserEntity::toUser);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return mergeById(scatter(shard -> read(shard, em -> em.createQuery(
+                "SELECT u FROM ShardUserEntity u ORDER BY u.id", ShardUserEntity.class)
+                .getResultList())), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<User> findAllAfter(long afterId, int limit) {
+        return mergeById(scatter(shard -> read(shard, em -> em.createQuery(
+                "SELECT u FROM ShardUserEntity u WHERE u.id > :afterId ORDER BY u.id", ShardUserEntity.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList())), limit);
+    }
+
+    @Override
+    public List<String> findAllUsernames() {
+        return scatter(shard -> read(shard, em -> em.createQuery(
+                "SELECT d.username FROM UserShardDirectoryEntry d", String.class)
+                .getResultList()))
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public User update(User user) {
+        EntityManagerFactory shard = shardFor(user.getId())
+                .orElseThrow(() -> new UserNotFoundException(user.getId()));
+        ShardUserEntity current = read(shard, em -> em.find(ShardUserEntity.class, user.getId()));
+        if (current == null) {
+            throw new UserNotFoundException(user.getId());
+        }
+
+        int shardIndex = ShardIdGenerator.shardOf(user.getId());
+        boolean renamed = !current.getUsername().equals(user.getUsername());
+        boolean emailChanged = !current.getEmail().equals(user.getEmail());
+        String oldUsername = renamed ? current.getUsername() : null;
+        String oldEmail = emailChanged ? current.getEmail() : null;
+        if (renamed) {
+            reserveUsername(user.getUsername(), shardIndex, user.getId());
+        }
+        if (emailChanged) {
+            try {
+                reserveEmail(user.getEmail(), user.getId());
+            } catch (RuntimeException e) {
+                if (renamed) {
+                    releaseEntries(user.getUsername(), null, NO_SHARD);
+                }
+                throw e;
+            }
+        }
+        User updated;
+        try {
+            updated = inTransaction(shard, em -> {
+                ShardUserEntity entity = em.find(ShardUserEntity.class, user.getId());
+                entity.setUsername(user.getUsername());
+                entity.setEmail(user.getEmail());
+                deleteEntries(em, shardIndex, oldUsername, oldEmail);
+                return entity.toUser();
+            });
+        } catch (RuntimeException e) {
+            releaseEntries(renamed ? user.getUsername() : null, emailChanged ? user.getEmail() : null, NO_SHARD);
+            throw e;
+        }
+        releaseEntries(oldUsername, oldEmail, shardIndex);
+        return updated;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Optional<EntityManagerFactory> shard = shardFor(id);
+        if (shard.isEmpty()) {
+            return;
+        }
+        int shardIndex = ShardIdGenerator.shardOf(id);
+        ShardUserEntity removed = inTransaction(shard.get(), em -> {
+            ShardUserEntity entity = em.find(ShardUserEntity.class, id);
+            if (entity != null) {
+                em.remove(entity);
+                deleteEntries(em, shardIndex, entity.getUsername(), entity.getEmail());
+            }
+            return entity;
+        });
+        if (removed != null) {
+            // Entries on other shards go after the row; a leftover entry only reserves a username or email
+            releaseEntries(removed.getUsername(), removed.getEmail(), shardIndex);
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<Long> findIdsByUsernamePrefix(String usernamePrefix, long afterId, int limit) {
+        return scatter(shard -> read(shard, em -> em.createQuery(
+                "SELECT d.userId FROM UserShardDirectoryEntry d"
+                        + " WHERE d.username LIKE :pattern ESCAPE '\\' AND d.userId > :afterId ORDER BY d.userId",
+                Long.class)
+                .setParameter("pattern", UserRepositoryImpl.toLikePrefixPattern(usernamePrefix))
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList()))
+                .stream()
+                .flatMap(List::stream)
+                .sorted()
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long countByUsernamePrefix(String usernamePrefix) {
+        return scatter(shard -> read(shard, em -> em.createQuery(
+                "SELECT COUNT(d) FROM UserShardDirectoryEntry d WHERE d.username LIKE :pattern ESCAPE '\\'",
+                Long.class)
+                .setParameter("pattern", UserRepositoryImpl.toLikePrefixPattern(usernamePrefix))
+                .getSingleResult()))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    /**
+     * Deletes all users with the given ids, one transaction per shard.
+     * The shard transactions do not join the caller's transaction and commit even if it rolls back.
+     *
+     * @param ids the user ids
+     * @return the number of user rows deleted by this call
+     */
+    @Override
+    public int deleteAllByIds(List<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = ids.stream()
+                .filter(id -> shardFor(id).isPresent())
+                .collect(Collectors.groupingBy(ShardIdGenerator::shardOf));
+
+        List<CompletableFuture<Integer>> deletions = new ArrayList<>();
+        idsByShard.forEach((shard, shardIds) -> deletions.add(CompletableFuture.supplyAsync(
+                () -> inTransaction(shards.get(shard), em -> em.createNativeQuery(
+                        "DELETE FROM users WHERE id = ANY(CAST(:ids AS bigint[]))")
+                        .setParameter("ids", toArrayLiteral(shardIds))
+                        .executeUpdate()),
+                executor)));
+        int deleted = join(deletions).stream().mapToInt(Integer::intValue).sum();
+
+        // Entries may live on any shard; remove them only once all rows are gone
+        scatter(shard -> inTransaction(shard, em -> {
+            em.createQuery("DELETE FROM UserShardDirectoryEntry d WHERE d.userId IN :ids")
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+            return em.createQuery("DELETE FROM UserEmailDirectoryEntry e WHERE e.userId IN :ids")
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+        }));
+        return deleted;
+    }
+
+    private void insert(int shard, long id, User user, boolean withEmail) {
+        try {
+            insertOnce(shard, id, user, withEmail);
+        } catch (PersistenceException e) {
+            Optional<UserShardDirectoryEntry> username = findDirectoryEntry(user.getUsername());
+            if (username.isPresent() && !reclaimIfStale(username.get())) {
+                throw new UsernameAlreadyExistsException(user.getUsername());
+            }
+            UserEmailDirectoryEntry email = withEmail ? findEmailEntry(user.getEmail()) : null;
+            if (email != null && !reclaimIfStale(email)) {
+                throw e;
+            }
+            if (username.isEmpty() && email == null) {
+                throw e;
+            }
+            try {
+                insertOnce(shard, id, user, withEmail);
+            } catch (PersistenceException retryFailure) {
+                if (findDirectoryEntry(user.getUsername()).isPresent()) {
+                    throw new UsernameAlreadyExistsException(user.getUsername());
+                }
+                throw retryFailure;
+            }
+        }
+    }
+
+    private void insertOnce(int shard, long id, User user, boolean withEmail) {
+        inTransaction(shards.get(shard), em -> {
+            em.persist(new UserShardDirectoryEntry(user.getUsername(), shard, id));
+            if (withEmail) {
+                em.persist(new UserEmailDirectoryEntry(user.getEmail(), id));
+            }
+            em.persist(new ShardUserEntity(id, user.getUsername(), user.getEmail()));
+            return null;
+        });
+    }
+
+    private void reserveUsername(String username, int shard, long userId) {
+        try {
+            persistEntry(username, new UserShardDirectoryEntry(username, shard, userId));
+        } catch (PersistenceException e) {
+            Optional<UserShardDirectoryEntry> existing = findDirectoryEntry(username);
+            if (existing.isEmpty()) {
+                throw e;
+            }
+            if (!reclaimIfStale(existing.get())) {
+                throw new UsernameAlreadyExistsException(username);
+            }
+            try {
+                persistEntry(username, new UserShardDirectoryEntry(username, shard, userId));
+            } catch (PersistenceException retryFailure) {
+                throw new UsernameAlreadyExistsException(username);
+            }
+        }
+    }
+
+    private boolean reclaimIfStale(UserShardDirectoryEntry entry) {
+        if (!isExpired(entry.getReservedAt())) {
+            return false;
+        }
+        if (findReservedUser(entry).filter(user -> user.getUsername().equals(entry.getUsername())).isPresent()) {
+            return false;
+        }
+        LOGGER.warning("Reclaiming stale username reservation of user " + entry.getUserId());
+        inTransaction(shards.get(directoryShard(entry.getUsername())), em -> em.createQuery(
+                "DELETE FROM UserShardDirectoryEntry d WHERE d.username = :username AND d.userId = :userId")
+                .setParameter("username", entry.getUsername())
+                .setParameter("userId", entry.getUserId())
+                .executeUpdate());
+        return true;
+    }
+
+    private void reserveEmail(String email, long userId) {
+        // A duplicate email fails on the primary key, like the unique constraint of a single database
+        try {
+            persistEntry(email, new UserEmailDirectoryEntry(email, userId));
+        } catch (PersistenceException e) {
+            UserEmailDirectoryEntry existing = findEmailEntry(email);
+            if (existing == null || !reclaimIfStale(existing)) {
+                throw e;
+            }
+            persistEntry(email, new UserEmailDirectoryEntry(email, userId));
+        }
+    }
+
+    private boolean reclaimIfStale(UserEmailDirectoryEntry entry) {
+        if (!isExpired(entry.getReservedAt())) {
+            return false;
+        }
+        Optional<ShardUserEntity> user = shardFor(entry.getUserId())
+                .map(shard -> read(shard, em -> em.find(ShardUserEntity.class, entry.getUserId())));
+        if (user.filter(entity -> entity.getEmail().equals(entry.getEmail())).isPresent()) {
+            return false;
+        }
+        LOGGER.warning("Reclaiming stale email reservation of user " + entry.getUserId());
+        inTransaction(shards.get(directoryShard(entry.getEmail())), em -> em.createQuery(
+                "DELETE FROM UserEmailDirectoryEntry e WHERE e.email = :email AND e.userId = :userId")
+                .setParameter("email", entry.getEmail())
+                .setParameter("userId", entry.getUserId())
+                .executeUpdate());
+        return true;
+    }
+
+    private boolean isExpired(Instant reservedAt) {
+        // Younger reservations may belong to a save that is still writing its shard row
+        return reservedAt == null || reservedAt.isBefore(Instant.now().minus(reservationTimeout));
+    }
+
+    private void persistEntry(String key, Object entry) {
+        inTransaction(shards.get(directoryShard(key)), em -> {
+            em.persist(entry);
+            return null;
+        });
+    }
+
+    private Optional<ShardUserEntity> findReservedUser(UserShardDirectoryEntry entry) {
+        if (entry.getShardIndex() >= shards.size()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(read(shards.get(entry.getShardIndex()),
+                em -> em.find(ShardUserEntity.class, entry.getUserId())));
+    }
+
+    /**
+     * Deletes the directory entries of a username and an email, one transaction per shard involved.
+     *
+     * @param username  the username to release, or null
+     * @param email     the email to release, or null
+     * @param skipShard a shard whose entries were already deleted, or {@link #NO_SHARD}
+     */
+    private void releaseEntries(String username, String email, int skipShard) {
+        Set<Integer> targets = new TreeSet<>();
+        if (username != null) {
+            targets.add(directoryShard(username));
+        }
+        if (email != null) {
+            targets.add(directoryShard(email));
+        }
+        targets.remove(skipShard);
+        for (int target : targets) {
+            inTransaction(shards.get(target), em -> {
+                deleteEntries(em, target, username, email);
+                return null;
+            });
+        }
+    }
+
+    private void deleteEntries(EntityManager em, int shard, String username, String email) {
+        if (username != null && directoryShard(username) == shard) {
+            em.createQuery("DELETE FROM UserShardDirectoryEntry d WHERE d.username = :username")
+                    .setParameter("username", username)
+                    .executeUpdate();
+        }
+        if (email != null && directoryShard(email) == shard) {
+            em.createQuery("DELETE FROM UserEmailDirectoryEntry e WHERE e.email = :email")
+                    .setParameter("email", email)
+                    .executeUpdate();
+        }
+    }
+
+    private Optional<UserShardDirectoryEntry> findDirectoryEntry(String username) {
+        return Optional.ofNullable(read(shards.get(directoryShard(username)),
+                em -> em.find(UserShardDirectoryEntry.class, username)));
+    }
+
+    private UserEmailDirectoryEntry findEmailEntry(String email) {
+        return read(shards.get(directoryShard(email)), em -> em.find(UserEmailDirectoryEntry.class, email));
+    }
+
+    private int directoryShard(String key) {
+        return Math.floorMod(key.hashCode(), shards.size());
+    }
+
+    private Optional<EntityManagerFactory> shardFor(Long id) {
+        if (id == null || id <= 0) {
+            return Optional.empty();
+        }
+        int shard = ShardIdGenerator.shardOf(id);
+        return shard < shards.size() ? Optional.of(shards.get(shard)) : Optional.empty();
+    }
+
+    private <T> List<T> scatter(Function<EntityManagerFactory, T> query) {
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .collect(Collectors.toList());
+        return join(futures);
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        try {
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Merges per-shard result lists that are each sorted by id.
+     *
+     * @param sortedLists the per-shard results
+     * @param limit       the maximum number of users to return
+     * @return the merged users in ascending id order
+     */
+    static List<User> mergeById(List<List<ShardUserEntity>> sortedLists, int limit) {
+        PriorityQueue<int[]> heads = new PriorityQueue<>(
+                Comparator.comparingLong(head -> sortedLists.get(head[0]).get(head[1]).getId()));
+        for (int i = 0; i < sortedLists.size(); i++) {
+            if (!sortedLists.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+
+        List<User> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            int[] head = heads.poll();
+            List<ShardUserEntity> list = sortedLists.get(head[0]);
+            merged.add(list.get(head[1]).toUser());
+            if (head[1] + 1 < list.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return merged;
+    }
+
+    private static String toArrayLiteral(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static <T> T read(EntityManagerFactory factory, Function<EntityManager, T> work) {
+        EntityManager em = factory.createEntityManager();
+        try {
+            return work.apply(em);
+        } finally {
+            em.close();
+        }
+    }
+
+    private static <T> T inTransaction(EntityManagerFactory factory, Function<EntityManager, T> work) {
+        EntityManager em = factory.createEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        try {
+            transaction.begin();
+            T result = work.apply(em);
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.usercrud.repository;
+
+import com.usercrud.domain.UserDeleteJob;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for UserDeleteJob entity.
+ * This interface defines the contract for delete job persistence operations.
+ */
+public interface UserDeleteJobRepository {
+
+    /**
+     * Saves a new delete job.
+     *
+     * @param job the job to save
+     * @return the saved job
+     */
+    UserDeleteJob save(UserDeleteJob job);
+
+    /**
+     * Finds a delete job by id.
+     *
+     * @param id the job id
+     * @return an Optional containing the job if found
+     */
+    Optional<UserDeleteJob> findById(Long id);
+
+    /**
+     * Finds a delete job by id and locks it for the rest of the current transaction.
+     * Concurrent runners of the same job wait for each other instead of overwriting progress.
+     *
+     * @param id the job id
+     * @return an Optional containing the job if found
+     */
+    Optional<UserDeleteJob> findByIdForUpdate(Long id);
+
+    /**
+     * Finds all jobs that are pending or running.
+     *
+     * @return list of unfinished jobs
+     */
+    List<UserDeleteJob> findUnfinished();
+
+    /**
+     * Finds the user ids of an id-list job that have not been processed yet, in ascending order.
+     *
+     * @param jobId   the job id
+     * @param afterId only ids greater than this value are returned
+     * @param limit   the maximum number of ids to return
+     * @return list of user ids
+     */
+    List<Long> findUserIdsAfter(Long jobId, long afterId, int limit);
+
+    /**
+     * Updates an existing delete job.
+     *
+     * @param job the job to update
+     * @return the updated job
+     */
+    UserDeleteJob update(UserDeleteJob job);
+}
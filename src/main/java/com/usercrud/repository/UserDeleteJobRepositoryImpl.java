@@ -0,0 +1,63 @@
+package com.usercrud.repository;
+
+import com.usercrud.domain.UserDeleteJob;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA implementation of UserDeleteJobRepository.
+ */
+@ApplicationScoped
+public class UserDeleteJobRepositoryImpl implements UserDeleteJobRepository {
+
+    @PersistenceContext(unitName = "userPU")
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public UserDeleteJob save(UserDeleteJob job) {
+        entityManager.persist(job);
+        return job;
+    }
+
+    @Override
+    public Optional<UserDeleteJob> findById(Long id) {
+        return Optional.ofNullable(entityManager.find(UserDeleteJob.class, id));
+    }
+
+    @Override
+    public Optional<UserDeleteJob> findByIdForUpdate(Long id) {
+        return Optional.ofNullable(entityManager.find(UserDeleteJob.class, id, LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    @Override
+    public List<UserDeleteJob> findUnfinished() {
+        return entityManager.createQuery(
+                "SELECT j FROM UserDeleteJob j WHERE j.status IN :statuses ORDER BY j.id", UserDeleteJob.class)
+                .setParameter("statuses", List.of(UserDeleteJob.Status.PENDING, UserDeleteJob.Status.RUNNING))
+                .getResultList();
+    }
+
+    @Override
+    public List<Long> findUserIdsAfter(Long jobId, long afterId, int limit) {
+        return entityManager.createQuery(
+                "SELECT i FROM UserDeleteJob j JOIN j.userIds i WHERE j.id = :jobId AND i > :afterId ORDER BY i",
+                Long.class)
+                .setParameter("jobId", jobId)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional
+    public UserDeleteJob update(UserDeleteJob job) {
+        return entityManager.merge(job);
+    }
+}
@@ -0,0 +1,52 @@
+package com.usercrud.repository;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Email to user mapping, stored on the shard the email hashes to.
+ * The primary key on email enforces email uniqueness across all shards.
+ */
+@Entity
+@Table(name = "user_email_directory", indexes = @Index(name = "idx_user_email_directory_user_id", columnList = "userId"))
+public class UserEmailDirectoryEntry {
+
+    @Id
+    @Column(length = 100)
+    private String email;
+
+    @Column(nullable = false)
+    private long userId;
+
+    @Column(nullable = false)
+    private Instant reservedAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public UserEmailDirectoryEntry() {
+    }
+
+    UserEmailDirectoryEntry(String email, long userId) {
+        this(email, userId, Instant.now());
+    }
+
+    UserEmailDirectoryEntry(String email, long userId, Instant reservedAt) {
+        this.email = email;
+        this.userId = userId;
+        this.reservedAt = reservedAt;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public Instant getReservedAt() {
+        return reservedAt;
+    }
+}
@@ -41,6 +41,22 @@ public interface UserRepository {
      */
     List<User> findAll();
 
+    /**
+     * Finds a page of users in ascending id order.
+     *
+     * @param afterId only users with an id greater than this value are returned
+     * @param limit   the maximum number of users to return
+     * @return list of users
+     */
+    List<User> findAllAfter(long afterId, int limit);
+
+    /**
+     * Finds the usernames of all users.
+     *
+     * @return list of all usernames
+     */
+    List<String> findAllUsernames();
+
     /**
      * Updates an existing user.
      *
@@ -63,4 +79,30 @@ public interface UserRepository {
      * @return true if exists, false otherwise
      */
     boolean existsById(Long id);
+
+    /**
+     * Finds the ids of users whose username starts with the given prefix, in ascending id order.
+     *
+     * @param usernamePrefix the username prefix
+     * @param afterId        only ids greater than this value are returned
+     * @param limit          the maximum number of ids to return
+     * @return list of matching user ids
+     */
+    List<Long> findIdsByUsernamePrefix(String usernamePrefix, long afterId, int limit);
+
+    /**
+     * Counts users whose username starts with the given prefix.
+     *
+     * @param usernamePrefix the username prefix
+     * @return the number of matching users
+     */
+    long countByUsernamePrefix(String usernamePrefix);
+
+    /**
+     * Deletes all users with the given ids in a single statement.
+     *
+     * @param ids the user ids
+     * @return the number of users deleted
+     */
+    int deleteAllByIds(List<Long> ids);
 }
@@ -9,6 +9,7 @@ import jakarta.transaction.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * JPA implementation of UserRepository.
@@ -24,6 +25,8 @@ public class UserRepositoryImpl implements UserRepository {
     @Transactional
     public User save(User user) {
         entityManager.persist(user);
+        // Surface constraint violations here rather than at commit, so callers can translate them
+        entityManager.flush();
         return user;
     }
 
@@ -48,10 +51,27 @@ public class UserRepositoryImpl implements UserRepository {
         return query.getResultList();
     }
 
+    @Override
+    public List<User> findAllAfter(long afterId, int limit) {
+        return entityManager.createQuery(
+                "SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id", User.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<String> findAllUsernames() {
+        return entityManager.createQuery("SELECT u.username FROM User u", String.class)
+                .getResultList();
+    }
+
     @Override
     @Transactional
     public User update(User user) {
-        return entityManager.merge(user);
+        User merged = entityManager.merge(user);
+        entityManager.flush();
+        return merged;
     }
 
     @Override
@@ -70,4 +90,44 @@ public class UserRepositoryImpl implements UserRepository {
                 .getSingleResult();
         return count > 0;
     }
+
+    @Override
+    public List<Long> findIdsByUsernamePrefix(String usernamePrefix, long afterId, int limit) {
+        return entityManager.createQuery(
+                "SELECT u.id FROM User u WHERE u.username LIKE :pattern ESCAPE '\\' AND u.id > :afterId ORDER BY u.id",
+                Long.class)
+                .setParameter("pattern", toLikePrefixPattern(usernamePrefix))
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countByUsernamePrefix(String usernamePrefix) {
+        return entityManager.createQuery(
+                "SELECT COUNT(u) FROM User u WHERE u.username LIKE :pattern ESCAPE '\\'", Long.class)
+                .setParameter("pattern", toLikePrefixPattern(usernamePrefix))
+                .getSingleResult();
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Bind the ids as a single array parameter so every chunk size shares one statement plan
+        String idArray = ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(",", "{", "}"));
+        return entityManager.createNativeQuery("DELETE FROM users WHERE id = ANY(CAST(:ids AS bigint[]))")
+                .setParameter("ids", idArray)
+                .executeUpdate();
+    }
+
+    static String toLikePrefixPattern(String prefix) {
+        return prefix.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
 }
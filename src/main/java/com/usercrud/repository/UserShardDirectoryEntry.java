@@ -0,0 +1,60 @@
+package com.usercrud.repository;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Username to shard mapping, stored on the shard the username hashes to.
+ * The primary key on username enforces username uniqueness across all shards.
+ */
+@Entity
+@Table(name = "user_shard_directory", indexes = @Index(name = "idx_user_shard_directory_user_id", columnList = "userId"))
+public class UserShardDirectoryEntry {
+
+    @Id
+    @Column(length = 50)
+    private String username;
+
+    @Column(nullable = false)
+    private int shardIndex;
+
+    @Column(nullable = false)
+    private long userId;
+
+    // Null for entries reserved before reservations were timestamped
+    private Instant reservedAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public UserShardDirectoryEntry() {
+    }
+
+    UserShardDirectoryEntry(String username, int shardIndex, long userId) {
+        this(username, shardIndex, userId, Instant.now());
+    }
+
+    UserShardDirectoryEntry(String username, int shardIndex, long userId, Instant reservedAt) {
+        this.username = username;
+        this.shardIndex = shardIndex;
+        this.userId = userId;
+        this.reservedAt = reservedAt;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public Instant getReservedAt() {
+        return reservedAt;
+    }
+}
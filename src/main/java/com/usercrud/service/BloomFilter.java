@@ -0,0 +1,129 @@
+package com.usercrud.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * A negative answer is definite; a positive answer may be a false positive.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final long capacity;
+
+    private BloomFilter(long bitCount, int hashFunctions, long capacity) {
+        this.words = new AtomicLongArray(Math.toIntExact(bitCount / Long.SIZE));
+        this.bitCount = bitCount;
+        this.hashFunctions = hashFunctions;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates a filter sized for the given number of elements and false positive rate.
+     *
+     * @param capacity          the expected number of elements
+     * @param falsePositiveRate the target false positive rate at capacity
+     * @return the empty filter
+     * @throws IllegalArgumentException if the false positive rate is not between 0 and 1
+     */
+    static BloomFilter create(long capacity, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long elements = Math.max(1, capacity);
+        long bits = (long) Math.ceil(-elements * Math.log(falsePositiveRate) / (LN2 * LN2));
+        bits = Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+        int hashFunctions = Math.max(1, (int) Math.round((double) bits / elements * LN2));
+        return new BloomFilter(bits, hashFunctions, elements);
+    }
+
+    void put(String value) {
+        long hash = hash(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            words.accumulateAndGet((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getBitCount() {
+        return bitCount;
+    }
+
+    int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Estimates the number of distinct elements from the fraction of set bits.
+     *
+     * @return the estimated element count
+     */
+    long approximateElementCount() {
+        double setFraction = (double) setBits() / bitCount;
+        if (setFraction >= 1.0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-((double) bitCount / hashFunctions) * Math.log(1 - setFraction));
+    }
+
+    /**
+     * Estimates the current false positive rate from the fraction of set bits.
+     *
+     * @return the estimated false positive rate
+     */
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits() / bitCount, hashFunctions);
+    }
+
+    private long setBits() {
+        long count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    private static long hash(String value) {
+        // 64-bit FNV-1a over the UTF-16 code units
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        // MurmurHash3 finalizer
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,90 @@
+package com.usercrud.service;
+
+import com.usercrud.config.Settings;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executes delete jobs on the managed executor, one chunk per transaction.
+ * Chunks are throttled to a configurable number of rows per second so that
+ * foreground requests keep their connections and latency.
+ * Unfinished jobs are resumed when the application starts.
+ */
+@ApplicationScoped
+public class UserDeleteJobRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(UserDeleteJobRunner.class.getName());
+
+    static final String CHUNK_SIZE = "usercrud.delete-jobs.chunk-size";
+    static final String MAX_ROWS_PER_SECOND = "usercrud.delete-jobs.max-rows-per-second";
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    @Inject
+    private UserDeleteJobService jobService;
+
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Resumes all pending or running jobs after a restart.
+     *
+     * @param event the application initialization event
+     */
+    void resumeUnfinishedJobs(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        jobService.getUnfinishedJobs().forEach(job -> schedule(job.getId()));
+    }
+
+    /**
+     * Schedules a job for background execution. A job that is already running is not scheduled twice.
+     *
+     * @param jobId the job id
+     */
+    public void schedule(Long jobId) {
+        if (activeJobs.add(jobId)) {
+            executor.execute(() -> run(jobId));
+        }
+    }
+
+    private void run(Long jobId) {
+        int chunkSize = Settings.getInt(CHUNK_SIZE, 1000);
+        int maxRowsPerSecond = Settings.getInt(MAX_ROWS_PER_SECOND, 5000);
+        try {
+            int processed;
+            do {
+                long startNanos = System.nanoTime();
+                processed = jobService.processNextChunk(jobId, chunkSize);
+                throttle(processed, startNanos, maxRowsPerSecond);
+            } while (processed > 0);
+        } catch (InterruptedException e) {
+            // Leave the job RUNNING so it is picked up again on the next start
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Delete job " + jobId + " failed", e);
+            jobService.markFailed(jobId, e.getMessage());
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    private static void throttle(int rows, long startNanos, int maxRowsPerSecond) throws InterruptedException {
+        if (rows == 0 || maxRowsPerSecond <= 0) {
+            return;
+        }
+        long minimumNanos = TimeUnit.SECONDS.toNanos(rows) / maxRowsPerSecond;
+        long remainingNanos = minimumNanos - (System.nanoTime() - startNanos);
+        if (remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.usercrud.service;
+
+import com.usercrud.domain.UserDeleteJob;
+import com.usercrud.repository.UserDeleteJobRepository;
+import com.usercrud.repository.UserRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Application service for background bulk delete jobs.
+ * Jobs are persisted on submission and executed chunk by chunk by {@link UserDeleteJobRunner}.
+ */
+@ApplicationScoped
+public class UserDeleteJobService {
+
+    @Inject
+    private UserDeleteJobRepository jobRepository;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private UserDeleteJobRunner jobRunner;
+
+    @Inject
+    private Event<UsersChangedEvent> usersChanged;
+
+    /**
+     * Submits a new delete job and schedules it for background execution.
+     * Exactly one of user ids or username prefix must be given.
+     *
+     * @param userIds        the ids of the users to delete, or null
+     * @param usernamePrefix the username prefix of the users to delete, or null
+     * @return the submitted job
+     * @throws IllegalArgumentException if neither or both selection criteria are given, or the prefix is too long
+     */
+    public UserDeleteJob submitJob(List<Long> userIds, String usernamePrefix) {
+        boolean hasIds = userIds != null && !userIds.isEmpty();
+        boolean hasPrefix = usernamePrefix != null && !usernamePrefix.trim().isEmpty();
+        if (hasIds == hasPrefix) {
+            throw new IllegalArgumentException("Either userIds or usernamePrefix must be provided");
+        }
+        if (hasPrefix && usernamePrefix.length() > UserDeleteJob.MAX_USERNAME_PREFIX_LENGTH) {
+            throw new IllegalArgumentException(
+                    "usernamePrefix must not exceed " + UserDeleteJob.MAX_USERNAME_PREFIX_LENGTH + " characters");
+        }
+
+        UserDeleteJob job;
+        if (hasIds) {
+            Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+            distinctIds.remove(null);
+            job = UserDeleteJob.forUserIds(distinctIds);
+        } else {
+            job = UserDeleteJob.forUsernamePrefix(usernamePrefix, userRepository.countByUsernamePrefix(usernamePrefix));
+        }
+
+        UserDeleteJob savedJob = jobRepository.save(job);
+        jobRunner.schedule(savedJob.getId());
+        return savedJob;
+    }
+
+    /**
+     * Gets a delete job by id.
+     *
+     * @param id the job id
+     * @return an Optional containing the job if found
+     */
+    public Optional<UserDeleteJob> getJob(Long id) {
+        return jobRepository.findById(id);
+    }
+
+    /**
+     * Gets all jobs that have not finished yet.
+     *
+     * @return list of pending or running jobs
+     */
+    public List<UserDeleteJob> getUnfinishedJobs() {
+        return jobRepository.findUnfinished();
+    }
+
+    /**
+     * Deletes the next chunk of users for a job and advances its cursor.
+     * With the default repository the deletion and the progress update commit together, so a restarted job never
+     * skips users. {@link com.usercrud.repository.ShardedUserRepository} commits its deletions on the shards
+     * independently: a restarted job still never skips users, but a chunk that was deleted before the crash is
+     * replayed and its users are not counted again, so {@code deletedCount} may fall short of the users removed.
+     * The job row stays locked until commit, so instances that resume the same job process its chunks one at a time.
+     *
+     * @param jobId     the job id
+     * @param chunkSize the maximum number of users to delete
+     * @return the number of ids processed, or 0 when the job is finished
+     * @throws IllegalStateException if the job does not exist
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public int processNextChunk(Long jobId, int chunkSize) {
+        UserDeleteJob job = jobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new IllegalStateException("Delete job not found with id: " + jobId));
+        if (job.isFinished()) {
+            return 0;
+        }
+
+        List<Long> ids = job.getUsernamePrefix() != null
+                ? userRepository.findIdsByUsernamePrefix(job.getUsernamePrefix(), job.getLastProcessedId(), chunkSize)
+                : jobRepository.findUserIdsAfter(jobId, job.getLastProcessedId(), chunkSize);
+
+        if (ids.isEmpty()) {
+            job.setStatus(UserDeleteJob.Status.COMPLETED);
+            jobRepository.update(job);
+            return 0;
+        }
+
+        int deleted = userRepository.deleteAllByIds(ids);
+        job.recordChunk(ids.get(ids.size() - 1), deleted);
+        jobRepository.update(job);
+        if (deleted > 0) {
+            usersChanged.fire(new UsersChangedEvent());
+        }
+        return ids.size();
+    }
+
+    /**
+     * Marks a job as failed.
+     *
+     * @param jobId        the job id
+     * @param errorMessage the failure reason
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void markFailed(Long jobId, String errorMessage) {
+        jobRepository.findByIdForUpdate(jobId).ifPresent(job -> {
+            job.setStatus(UserDeleteJob.Status.FAILED);
+            job.setErrorMessage(truncate(Objects.toString(errorMessage, "Unknown error")));
+            jobRepository.update(job);
+        });
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -3,9 +3,12 @@ package com.usercrud.service;
 import com.usercrud.domain.User;
 import com.usercrud.exception.UserNotFoundException;
 import com.usercrud.exception.UsernameAlreadyExistsException;
+import com.usercrud.monitoring.SqlMetered;
 import com.usercrud.repository.UserRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,12 +17,19 @@ import java.util.Optional;
  * Application service for User CRUD operations.
  * This class contains the business logic for user management.
  */
+@SqlMetered
 @ApplicationScoped
 public class UserService {
 
     @Inject
     private UserRepository userRepository;
 
+    @Inject
+    private Event<UsersChangedEvent> usersChanged;
+
+    @Inject
+    private UsernameFilter usernameFilter;
+
     /**
      * Creates a new user.
      *
@@ -37,11 +47,19 @@ public class UserService {
         }
 
         // Check if username already exists
-        if (userRepository.findByUsername(user.getUsername()).isPresent()) {
+        if (usernameExists(user.getUsername())) {
             throw new UsernameAlreadyExistsException(user.getUsername());
         }
 
-        return userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (PersistenceException e) {
+            throw translateUsernameConflict(e, user.getUsername(), null);
+        }
+        usernameFilter.add(savedUser.getUsername());
+        usersChanged.fire(new UsersChangedEvent());
+        return savedUser;
     }
 
     /**
@@ -73,6 +91,21 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * Gets a page of users in ascending id order.
+     *
+     * @param afterId only users with an id greater than this value are returned, or null for the first page
+     * @param limit   the maximum number of users to return
+     * @return list of users
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public List<User> getUsersPage(Long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return userRepository.findAllAfter(afterId == null ? 0L : afterId, limit);
+    }
+
     /**
      * Updates an existing user.
      *
@@ -88,7 +121,9 @@ public class UserService {
 
         if (user.getUsername() != null && !user.getUsername().trim().isEmpty()) {
             // Check if new username is already taken by another user
-            Optional<User> userWithSameUsername = userRepository.findByUsername(user.getUsername());
+            Optional<User> userWithSameUsername = usernameFilter.mightContain(user.getUsername())
+                    ? userRepository.findByUsername(user.getUsername())
+                    : Optional.empty();
             if (userWithSameUsername.isPresent() && !userWithSameUsername.get().getId().equals(id)) {
                 throw new UsernameAlreadyExistsException(user.getUsername());
             }
@@ -99,7 +134,15 @@ public class UserService {
             existingUser.setEmail(user.getEmail());
         }
 
-        return userRepository.update(existingUser);
+        User updatedUser;
+        try {
+            updatedUser = userRepository.update(existingUser);
+        } catch (PersistenceException e) {
+            throw translateUsernameConflict(e, existingUser.getUsername(), id);
+        }
+        usernameFilter.add(updatedUser.getUsername());
+        usersChanged.fire(new UsersChangedEvent());
+        return updatedUser;
     }
 
     /**
@@ -113,6 +156,23 @@ public class UserService {
             throw new UserNotFoundException(id);
         }
         userRepository.deleteById(id);
+        usersChanged.fire(new UsersChangedEvent());
+    }
+
+    /**
+     * Checks whether a username is still available.
+     * The answer is advisory: with several instances, a username created on another instance since the last
+     * filter rebuild may still be reported as available. Creating the user remains the authoritative check.
+     *
+     * @param username the username
+     * @return true if no user with this username is known to this instance
+     * @throws IllegalArgumentException if username is empty
+     */
+    public boolean isUsernameAvailable(String username) {
+        if (username == null || username.trim().isEmpty()) {
+            throw new IllegalArgumentException("Username cannot be empty");
+        }
+        return !usernameExists(username);
     }
 
     /**
@@ -124,4 +184,19 @@ public class UserService {
     public boolean userExists(Long id) {
         return userRepository.existsById(id);
     }
+
+    private RuntimeException translateUsernameConflict(PersistenceException e, String username, Long id) {
+        // The pre-check only knows usernames seen by this instance, so a concurrent or remote write can still hit the constraint
+        Optional<User> holder = userRepository.findByUsername(username);
+        if (holder.isPresent() && !holder.get().getId().equals(id)) {
+            usernameFilter.add(username);
+            return new UsernameAlreadyExistsException(username);
+        }
+        return e;
+    }
+
+    private boolean usernameExists(String username) {
+        // A definite miss in the filter saves the database round-trip
+        return usernameFilter.mightContain(username) && userRepository.findByUsername(username).isPresent();
+    }
 }
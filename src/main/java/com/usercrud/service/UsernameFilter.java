@@ -0,0 +1,244 @@
+package com.usercrud.service;
+
+import com.usercrud.config.Settings;
+import com.usercrud.repository.UserRepository;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-memory Bloom filter over all usernames, used to skip username lookups that cannot match.
+ * The filter is rebuilt from the database periodically and updated as users are created or renamed
+ * through {@link UserService}. Until the first build completes every username is reported as possibly present.
+ * <p>
+ * Usernames written by other application instances are only picked up by the next rebuild.
+ */
+@ApplicationScoped
+public class UsernameFilter {
+
+    private static final Logger LOGGER = Logger.getLogger(UsernameFilter.class.getName());
+
+    static final String ENABLED = "usercrud.username-filter.enabled";
+    static final String FALSE_POSITIVE_RATE = "usercrud.username-filter.false-positive-rate";
+    static final String EXPECTED_USERNAMES = "usercrud.username-filter.expected-usernames";
+    static final String REBUILD_INTERVAL_SECONDS = "usercrud.username-filter.rebuild-interval-seconds";
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    private final boolean enabled = Settings.getBoolean(ENABLED, true);
+    private final double falsePositiveRate = falsePositiveRate();
+    private final long expectedUsernames = Settings.getLong(EXPECTED_USERNAMES, 1_000_000);
+    private final long rebuildIntervalSeconds = Settings.getLong(REBUILD_INTERVAL_SECONDS, 3600);
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+    private volatile long lastRebuildTimeMillis;
+    private long lastUsernameCount;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder definiteMisses = new LongAdder();
+
+    /**
+     * Starts the periodic rebuild, beginning with an immediate build.
+     *
+     * @param event the application initialization event
+     */
+    void scheduleRebuilds(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        if (enabled) {
+            scheduler.scheduleAtFixedRate(this::rebuildQuietly, 0, rebuildIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Checks whether a username may exist.
+     *
+     * @param username the username
+     * @return false only if the username definitely does not exist
+     */
+    public boolean mightContain(String username) {
+        BloomFilter filter = current;
+        if (filter == null) {
+            return true;
+        }
+        queries.increment();
+        boolean result = filter.mightContain(username);
+        if (!result) {
+            definiteMisses.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Records a username that has just been written to the database.
+     *
+     * @param username the username
+     */
+    public void add(String username) {
+        // Read the filter under construction first: after it is published, current already refers to it
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(username);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(username);
+        }
+    }
+
+    /**
+     * Rebuilds the filter from all usernames in the database.
+     * The new filter collects concurrent additions from the moment it is created,
+     * so usernames committed during the rebuild are never missing from it.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        long capacity = Math.max(expectedUsernames, lastUsernameCount * 2);
+        List<String> usernames;
+        BloomFilter next;
+        do {
+            next = BloomFilter.create(capacity, falsePositiveRate);
+            building = next;
+            usernames = userRepository.findAllUsernames();
+            capacity = usernames.size() * 2L;
+        } while (usernames.size() > next.getCapacity());
+
+        for (String username : usernames) {
+            next.put(username);
+        }
+        current = next;
+        building = null;
+        lastUsernameCount = usernames.size();
+        lastRebuildTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            building = null;
+            LOGGER.log(Level.WARNING, "Username filter rebuild failed", e);
+        }
+    }
+
+    private static double falsePositiveRate() {
+        // Checked here so a bad value fails deployment instead of every scheduled rebuild
+        double rate = Settings.getDouble(FALSE_POSITIVE_RATE, 0.01);
+        if (!(rate > 0 && rate < 1)) {
+            throw new IllegalStateException(
+                    "Setting " + FALSE_POSITIVE_RATE + " must be between 0 and 1 exclusive: " + rate);
+        }
+        return rate;
+    }
+
+    /**
+     * Gets filter size and effectiveness statistics.
+     *
+     * @return the statistics
+     */
+    public Stats getStats() {
+        return new Stats(this, current);
+    }
+
+    /**
+     * Username filter statistics.
+     */
+    public static class Stats {
+        private final boolean enabled;
+        private final boolean ready;
+        private final double configuredFalsePositiveRate;
+        private final long capacity;
+        private final long memoryBytes;
+        private final long memoryBytesPerMillionUsernames;
+        private final int hashFunctions;
+        private final long approximateUsernames;
+        private final double estimatedFalsePositiveRate;
+        private final long queries;
+        private final long definiteMisses;
+        private final long lastRebuildTimeMillis;
+
+        Stats(UsernameFilter owner, BloomFilter filter) {
+            this.enabled = owner.enabled;
+            this.ready = filter != null;
+            this.configuredFalsePositiveRate = owner.falsePositiveRate;
+            this.capacity = filter == null ? 0 : filter.getCapacity();
+            this.memoryBytes = filter == null ? 0 : filter.getBitCount() / Byte.SIZE;
+            this.memoryBytesPerMillionUsernames = filter == null ? 0 : memoryBytes * 1_000_000 / capacity;
+            this.hashFunctions = filter == null ? 0 : filter.getHashFunctions();
+            this.approximateUsernames = filter == null ? 0 : filter.approximateElementCount();
+            this.estimatedFalsePositiveRate = filter == null ? 0 : filter.expectedFalsePositiveRate();
+            this.queries = owner.queries.sum();
+            this.definiteMisses = owner.definiteMisses.sum();
+            this.lastRebuildTimeMillis = owner.lastRebuildTimeMillis;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public boolean isReady() {
+            return ready;
+        }
+
+        public double getConfiguredFalsePositiveRate() {
+            return configuredFalsePositiveRate;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public long getMemoryBytes() {
+            return memoryBytes;
+        }
+
+        public long getMemoryBytesPerMillionUsernames() {
+            return memoryBytesPerMillionUsernames;
+        }
+
+        public int getHashFunctions() {
+            return hashFunctions;
+        }
+
+        public long getApproximateUsernames() {
+            return approximateUsernames;
+        }
+
+        public double getEstimatedFalsePositiveRate() {
+            return estimatedFalsePositiveRate;
+        }
+
+        public long getQueries() {
+            return queries;
+        }
+
+        public long getDefiniteMisses() {
+            return definiteMisses;
+        }
+
+        /**
+         * Gets the fraction of username lookups answered without a database query.
+         *
+         * @return the avoided fraction
+         */
+        public double getAvoidedQueryFraction() {
+            return queries == 0 ? 0.0 : (double) definiteMisses / queries;
+        }
+
+        public long getLastRebuildTimeMillis() {
+            return lastRebuildTimeMillis;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.usercrud.service;
+
+/**
+ * CDI event fired after users have been created, updated or deleted.
+ * Observers use it to invalidate data derived from the user table.
+ */
+public class UsersChangedEvent {
+}
@@ -0,0 +1,131 @@
+package com.usercrud.api;
+
+import com.usercrud.domain.User;
+import com.usercrud.service.UserService;
+import com.usercrud.service.UsersChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserListSnapshot.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserListSnapshotTest {
+
+    private static final Function<List<User>, byte[]> SERIALIZER = users -> users.stream()
+            .map(User::getUsername)
+            .collect(Collectors.joining(",", "[", "]"))
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private UserService userService;
+
+    private UserListSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new UserListSnapshot(userService, SERIALIZER, 0);
+    }
+
+    @Test
+    void testSnapshotIsBuiltOnceAndServedFromMemory() {
+        when(userService.getAllUsers()).thenReturn(List.of(new User(1L, "alice", "alice@example.com")));
+
+        UserListSnapshot.Snapshot first = snapshot.get();
+        UserListSnapshot.Snapshot second = snapshot.get();
+
+        assertSame(first, second);
+        assertEquals("[alice]", toString(first.getJson()));
+        verify(userService, times(1)).getAllUsers();
+        assertEquals(1, snapshot.getStats().getBuilds());
+        assertEquals(1, snapshot.getStats().getHits());
+        assertEquals(0.5, snapshot.getStats().getHitRate());
+    }
+
+    @Test
+    void testGzipBodyMatchesJson() throws IOException {
+        when(userService.getAllUsers()).thenReturn(List.of(new User(1L, "alice", "alice@example.com")));
+
+        UserListSnapshot.Snapshot current = snapshot.get();
+        ByteBuffer gzip = current.getGzip();
+        byte[] compressed = new byte[gzip.remaining()];
+        gzip.get(compressed);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals("[alice]", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(current.getJson().isDirect());
+        assertEquals(compressed.length, snapshot.getStats().getGzipBytes());
+    }
+
+    @Test
+    void testBuffersCanBeConsumedRepeatedly() {
+        when(userService.getAllUsers()).thenReturn(List.of(new User(1L, "alice", "alice@example.com")));
+
+        UserListSnapshot.Snapshot current = snapshot.get();
+        toString(current.getJson());
+
+        assertEquals("[alice]", toString(current.getJson()));
+    }
+
+    @Test
+    void testSnapshotIsRebuiltAfterWrite() {
+        when(userService.getAllUsers())
+                .thenReturn(List.of(new User(1L, "alice", "alice@example.com")))
+                .thenReturn(List.of(new User(1L, "alice", "alice@example.com"), new User(2L, "bob", "bob@example.com")));
+
+        snapshot.get();
+        snapshot.onUsersChanged(new UsersChangedEvent());
+
+        assertEquals("[alice,bob]", toString(snapshot.get().getJson()));
+        assertEquals(2, snapshot.getStats().getBuilds());
+    }
+
+    @Test
+    void testStaleSnapshotIsServedWithinMaxStaleness() {
+        snapshot = new UserListSnapshot(userService, SERIALIZER, 60_000);
+        when(userService.getAllUsers()).thenReturn(List.of(new User(1L, "alice", "alice@example.com")));
+
+        UserListSnapshot.Snapshot first = snapshot.get();
+        snapshot.onUsersChanged(new UsersChangedEvent());
+
+        assertSame(first, snapshot.get());
+        verify(userService, times(1)).getAllUsers();
+    }
+
+    @Test
+    void testSnapshotIsRebuiltAfterMaxAgeWithoutObservedWrite() throws InterruptedException {
+        snapshot = new UserListSnapshot(userService, SERIALIZER, 0, 1);
+        when(userService.getAllUsers())
+                .thenReturn(List.of(new User(1L, "alice", "alice@example.com")))
+                .thenReturn(List.of(new User(1L, "alice", "alice@example.com"), new User(2L, "bob", "bob@example.com")));
+
+        snapshot.get();
+        // bob was created by another instance, so no change event is observed here
+        Thread.sleep(10);
+
+        assertEquals("[alice,bob]", toString(snapshot.get().getJson()));
+        assertEquals(2, snapshot.getStats().getBuilds());
+    }
+
+    private static String toString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,201 @@
+package com.usercrud.api;
+
+import com.usercrud.domain.User;
+import com.usercrud.monitoring.ExpectedStatements;
+import com.usercrud.monitoring.SqlStatementCountExtension;
+import com.usercrud.repository.UserRepository;
+import com.usercrud.repository.UserRepositoryImpl;
+import com.usercrud.service.UserService;
+import com.usercrud.service.UsernameFilter;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Round-trip budget of each UserResource operation against a local PostgreSQL database.
+ * A change that adds a query to an endpoint fails here. Run with, for example:
+ * <pre>
+ * USERCRUD_TEST_JDBC_URL=jdbc:postgresql://localhost:5432/userdb mvn test
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "USERCRUD_TEST_JDBC_URL", matches = ".+")
+@ExtendWith(SqlStatementCountExtension.class)
+class UserResourceStatementCountTest {
+
+    private static EntityManagerFactory entityManagerFactory;
+
+    private UserRepository userRepository;
+    private UsernameFilter usernameFilter;
+    private UserResource userResource;
+    private String prefix;
+    private User fixture;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setURL(System.getenv("USERCRUD_TEST_JDBC_URL"));
+        dataSource.setUser(System.getenv().getOrDefault("USERCRUD_TEST_JDBC_USER", "userapp"));
+        dataSource.setPassword(System.getenv().getOrDefault("USERCRUD_TEST_JDBC_PASSWORD", "userpass123"));
+        entityManagerFactory = Persistence.createEntityManagerFactory("userTestPU",
+                Map.of("jakarta.persistence.nonJtaDataSource", dataSource));
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        entityManagerFactory.close();
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userRepository = transactionalRepository();
+        UserService userService = new UserService();
+        setField(userService, "userRepository", userRepository);
+        setField(userService, "usersChanged", mock(Event.class));
+        // Not yet built, so username checks still query the database
+        usernameFilter = new UsernameFilter();
+        setField(usernameFilter, "userRepository", userRepository);
+        setField(userService, "usernameFilter", usernameFilter);
+
+        userResource = new UserResource();
+        setField(userResource, "userService", userService);
+        setField(userResource, "userListSnapshot", new UserListSnapshot(userService,
+                users -> users.toString().getBytes(StandardCharsets.UTF_8), 0));
+
+        prefix = "sc" + UUID.randomUUID().toString().substring(0, 8) + "_";
+        fixture = userService.createUser(new User(prefix + "fixture", prefix + "fixture@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllByIds(userRepository.findIdsByUsernamePrefix(prefix, 0L, Integer.MAX_VALUE));
+    }
+
+    @Test
+    @ExpectedStatements(2)
+    void testCreateUser() {
+        int status = userResource.createUser(new User(prefix + "new", prefix + "new@example.com")).getStatus();
+
+        assertEquals(201, status);
+    }
+
+    @Test
+    @ExpectedStatements(1)
+    void testGetUserById() {
+        assertEquals(200, userResource.getUserById(fixture.getId()).getStatus());
+    }
+
+    @Test
+    @ExpectedStatements(1)
+    void testGetAllUsers() {
+        assertEquals(200, userResource.getAllUsers(null, null, null).getStatus());
+    }
+
+    @Test
+    @ExpectedStatements(1)
+    void testGetUsersPage() {
+        assertEquals(200, userResource.getAllUsers(fixture.getId() - 1, 10, null).getStatus());
+    }
+
+    @Test
+    @ExpectedStatements(4)
+    void testUpdateUser() {
+        User changes = new User(null, prefix + "renamed", prefix + "renamed@example.com");
+
+        assertEquals(200, userResource.updateUser(fixture.getId(), changes).getStatus());
+    }
+
+    @Test
+    @ExpectedStatements(2)
+    void testDeleteUser() {
+        assertEquals(204, userResource.deleteUser(fixture.getId()).getStatus());
+    }
+
+    @Test
+    @ExpectedStatements(1)
+    void testGetUsernameAvailability() {
+        assertEquals(200, userResource.getUsernameAvailability(prefix + "free").getStatus());
+    }
+
+    @Nested
+    class WithBuiltUsernameFilter {
+
+        @BeforeEach
+        void buildFilter() {
+            usernameFilter.rebuild();
+        }
+
+        @Test
+        @ExpectedStatements(0)
+        void testGetUsernameAvailability_Miss() {
+            Response response = userResource.getUsernameAvailability(prefix + "free");
+
+            assertTrue(((UserResource.AvailabilityResponse) response.getEntity()).isAvailable());
+        }
+
+        @Test
+        @ExpectedStatements(1)
+        void testGetUsernameAvailability_Hit() {
+            Response response = userResource.getUsernameAvailability(fixture.getUsername());
+
+            assertFalse(((UserResource.AvailabilityResponse) response.getEntity()).isAvailable());
+        }
+    }
+
+    /**
+     * Runs every repository call in its own transaction and persistence context,
+     * as the container does for the transaction-scoped entity manager.
+     */
+    private static UserRepository transactionalRepository() {
+        UserRepositoryImpl repository = new UserRepositoryImpl();
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    EntityManager entityManager = entityManagerFactory.createEntityManager();
+                    setField(repository, "entityManager", entityManager);
+                    try {
+                        entityManager.getTransaction().begin();
+                        Object result = method.invoke(repository, args);
+                        entityManager.getTransaction().commit();
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        if (entityManager.getTransaction().isActive()) {
+                            entityManager.getTransaction().rollback();
+                        }
+                        throw e.getCause();
+                    } finally {
+                        entityManager.close();
+                    }
+                });
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.usercrud.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserResource.
+ */
+class UserResourceTest {
+
+    @Test
+    void testAcceptsGzip() {
+        assertTrue(UserResource.acceptsGzip("gzip"));
+        assertTrue(UserResource.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(UserResource.acceptsGzip("br;q=1.0, *;q=0.1"));
+        assertTrue(UserResource.acceptsGzip("x-gzip"));
+    }
+
+    @Test
+    void testRefusesGzip() {
+        assertFalse(UserResource.acceptsGzip(null));
+        assertFalse(UserResource.acceptsGzip("identity"));
+        assertFalse(UserResource.acceptsGzip("gzip;q=0"));
+        assertFalse(UserResource.acceptsGzip("gzip; q=0.000, deflate"));
+        assertFalse(UserResource.acceptsGzip("*, gzip;q=0"));
+        assertFalse(UserResource.acceptsGzip("*;q=0"));
+        assertFalse(UserResource.acceptsGzip("gzip;q=abc"));
+    }
+}
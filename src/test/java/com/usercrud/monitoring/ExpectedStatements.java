@@ -0,0 +1,22 @@
+package com.usercrud.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the exact number of SQL statements a test method must execute.
+ * Checked by {@link SqlStatementCountExtension}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ExpectedStatements {
+
+    /**
+     * The expected number of statements.
+     *
+     * @return the statement count
+     */
+    long value();
+}
@@ -0,0 +1,108 @@
+package com.usercrud.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MeteredJdbc and SqlStatementTracker.
+ */
+@ExtendWith(MockitoExtension.class)
+class MeteredJdbcTest {
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementTracker.clear();
+    }
+
+    @Test
+    void testQueryCountsStatementAndRows() throws SQLException {
+        when(connection.prepareStatement("SELECT 1")).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        SqlStatementTracker.begin();
+        ResultSet rows = MeteredJdbc.wrap(connection).prepareStatement("SELECT 1").executeQuery();
+        while (rows.next()) {
+            // consume
+        }
+        SqlStatistics statistics = SqlStatementTracker.end();
+
+        assertEquals(1, statistics.getStatements());
+        assertEquals(2, statistics.getRows());
+    }
+
+    @Test
+    void testUpdateAndBatchCountUpdatedRows() throws SQLException {
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeUpdate("DELETE FROM users")).thenReturn(3);
+        when(statement.executeBatch()).thenReturn(new int[]{1, 1, Statement.SUCCESS_NO_INFO});
+
+        SqlStatementTracker.begin();
+        Statement metered = MeteredJdbc.wrap(connection).createStatement();
+        metered.executeUpdate("DELETE FROM users");
+        metered.executeBatch();
+        SqlStatistics statistics = SqlStatementTracker.end();
+
+        assertEquals(2, statistics.getStatements());
+        assertEquals(5, statistics.getRows());
+    }
+
+    @Test
+    void testNestedScopesAreAllCounted() throws SQLException {
+        when(connection.createStatement()).thenReturn(statement);
+        Statement metered = MeteredJdbc.wrap(connection).createStatement();
+
+        SqlStatementTracker.begin();
+        metered.execute("SELECT 1");
+        SqlStatementTracker.begin();
+        metered.execute("SELECT 2");
+        SqlStatistics inner = SqlStatementTracker.end();
+        SqlStatistics outer = SqlStatementTracker.end();
+
+        assertEquals(1, inner.getStatements());
+        assertEquals(2, outer.getStatements());
+    }
+
+    @Test
+    void testStatementsOutsideScopeAreIgnored() throws SQLException {
+        when(connection.createStatement()).thenReturn(statement);
+
+        MeteredJdbc.wrap(connection).createStatement().execute("SELECT 1");
+
+        assertThrows(IllegalStateException.class, SqlStatementTracker::end);
+    }
+
+    @Test
+    void testSqlExceptionIsPropagated() throws SQLException {
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.execute("BAD")).thenThrow(new SQLException("syntax error"));
+
+        Statement metered = MeteredJdbc.wrap(connection).createStatement();
+
+        assertThrows(SQLException.class, () -> metered.execute("BAD"));
+    }
+}
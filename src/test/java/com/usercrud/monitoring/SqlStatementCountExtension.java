@@ -0,0 +1,41 @@
+package com.usercrud.monitoring;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JUnit extension that fails a test annotated with {@link ExpectedStatements} when the test method
+ * executes a different number of SQL statements through a metered connection.
+ * Only the test method itself is tracked, not its setup and teardown methods.
+ */
+public class SqlStatementCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (expectedStatements(context).isPresent()) {
+            SqlStatementTracker.begin();
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Optional<ExpectedStatements> expected = expectedStatements(context);
+        if (expected.isEmpty()) {
+            return;
+        }
+        SqlStatistics statistics = SqlStatementTracker.end();
+        if (context.getExecutionException().isEmpty()) {
+            assertEquals(expected.get().value(), statistics.getStatements(),
+                    "SQL statements executed by " + context.getDisplayName() + " (" + statistics + ")");
+        }
+    }
+
+    private static Optional<ExpectedStatements> expectedStatements(ExtensionContext context) {
+        return context.getTestMethod().map(method -> method.getAnnotation(ExpectedStatements.class));
+    }
+}
@@ -0,0 +1,111 @@
+package com.usercrud.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShardIdGenerator.
+ */
+class ShardIdGeneratorTest {
+
+    private static final long NOW = ShardIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void testShardIsEncodedInId() {
+        ShardIdGenerator generator = new ShardIdGenerator(3, () -> NOW);
+
+        for (int shard : new int[]{0, 1, 7, ShardIdGenerator.MAX_SHARDS - 1}) {
+            long id = generator.nextId(shard);
+            assertTrue(id > 0);
+            assertEquals(shard, ShardIdGenerator.shardOf(id));
+        }
+    }
+
+    @Test
+    void testIdsAreUniqueAndIncreasingWithinSameMillisecond() {
+        // The clock advances one millisecond every 100 reads, so the sequence keeps running out
+        AtomicLong reads = new AtomicLong();
+        AtomicLong now = new AtomicLong();
+        ShardIdGenerator generator = new ShardIdGenerator(0, () -> {
+            now.set(NOW + reads.getAndIncrement() / 100);
+            return now.get();
+        });
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            long id = generator.nextId(1);
+            assertTrue(id > previous);
+            assertTrue(ids.add(id));
+            assertTrue(timestampOf(id) <= now.get(), "id timestamp ran ahead of the clock");
+            previous = id;
+        }
+    }
+
+    @Test
+    void testIdsDoNotGoBackwardsWhenClockDoes() {
+        AtomicLong clock = new AtomicLong(NOW);
+        ShardIdGenerator generator = new ShardIdGenerator(0, () -> clock.getAndIncrement());
+
+        long first = generator.nextId(0);
+        clock.set(NOW - 5);
+        long second = generator.nextId(0);
+
+        assertTrue(second > first);
+        assertTrue(clock.get() > NOW, "generator did not wait for the clock to catch up");
+    }
+
+    @Test
+    void testClockFarBehindFails() {
+        AtomicLong clock = new AtomicLong(NOW);
+        ShardIdGenerator generator = new ShardIdGenerator(0, clock::get);
+
+        generator.nextId(0);
+        clock.set(NOW - ShardIdGenerator.MAX_CLOCK_WAIT_MILLIS - 1);
+
+        assertThrows(IllegalStateException.class, () -> generator.nextId(0));
+    }
+
+    @Test
+    void testDifferentNodesGenerateDifferentIds() {
+        ShardIdGenerator node1 = new ShardIdGenerator(1, () -> NOW);
+        ShardIdGenerator node2 = new ShardIdGenerator(2, () -> NOW);
+
+        assertNotEquals(node1.nextId(4), node2.nextId(4));
+    }
+
+    @Test
+    void testIdsAreSafeJavaScriptIntegers() {
+        // Last millisecond of the layout, highest shard and node, exhausted sequence
+        long lastMillis = ShardIdGenerator.EPOCH_MILLIS + (1L << ShardIdGenerator.TIMESTAMP_BITS) - 1;
+        AtomicLong clock = new AtomicLong(lastMillis);
+        ShardIdGenerator generator = new ShardIdGenerator(ShardIdGenerator.MAX_NODES - 1, clock::get);
+
+        long id = 0;
+        for (int i = 0; i < 1 << ShardIdGenerator.SEQUENCE_BITS; i++) {
+            id = generator.nextId(ShardIdGenerator.MAX_SHARDS - 1);
+        }
+
+        assertEquals(ShardIdGenerator.MAX_SAFE_ID, id);
+        clock.set(lastMillis + 1);
+        assertThrows(IllegalStateException.class, () -> generator.nextId(0));
+    }
+
+    @Test
+    void testInvalidShardAndNode() {
+        ShardIdGenerator generator = new ShardIdGenerator(0, () -> NOW);
+
+        assertThrows(IllegalArgumentException.class, () -> generator.nextId(ShardIdGenerator.MAX_SHARDS));
+        assertThrows(IllegalArgumentException.class, () -> new ShardIdGenerator(ShardIdGenerator.MAX_NODES));
+    }
+
+    private static long timestampOf(long id) {
+        int shift = ShardIdGenerator.SEQUENCE_BITS + ShardIdGenerator.NODE_BITS + ShardIdGenerator.SHARD_BITS;
+        return (id >>> shift) + ShardIdGenerator.EPOCH_MILLIS;
+    }
+}
@@ -0,0 +1,200 @@
+package com.usercrud.repository;
+
+import com.usercrud.domain.User;
+import com.usercrud.exception.UsernameAlreadyExistsException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ShardedUserRepository against several local PostgreSQL databases.
+ * Run with, for example:
+ * <pre>
+ * USERCRUD_SHARDS_JDBC_URLS=jdbc:postgresql://localhost:5432/shard0,jdbc:postgresql://localhost:5432/shard1 mvn test
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "USERCRUD_SHARDS_JDBC_URLS", matches = ".+")
+class ShardedUserRepositoryTest {
+
+    private List<EntityManagerFactory> shards;
+    private ExecutorService executor;
+    private ShardedUserRepository repository;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        shards = ShardPersistence.createShardFactories();
+        executor = Executors.newFixedThreadPool(shards.size());
+        repository = new ShardedUserRepository(shards, new ShardIdGenerator(0), executor);
+        prefix = "t" + UUID.randomUUID().toString().substring(0, 8) + "_";
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<Long> ids = repository.findIdsByUsernamePrefix(prefix, 0L, Integer.MAX_VALUE);
+        repository.deleteAllByIds(ids);
+        executor.shutdown();
+        repository.close();
+    }
+
+    @Test
+    void testSaveAndFindRoutesToOwningShard() {
+        User saved = repository.save(new User(prefix + "alice", prefix + "alice@example.com"));
+
+        assertNotNull(saved.getId());
+        assertTrue(ShardIdGenerator.shardOf(saved.getId()) < shards.size());
+        assertEquals(Optional.of(saved), repository.findById(saved.getId()));
+        assertEquals(saved.getId(), repository.findByUsername(prefix + "alice").get().getId());
+        assertTrue(repository.existsById(saved.getId()));
+    }
+
+    @Test
+    void testUsernameIsUniqueAcrossShards() {
+        repository.save(new User(prefix + "bob", prefix + "bob1@example.com"));
+
+        assertThrows(UsernameAlreadyExistsException.class, () -> {
+            repository.save(new User(prefix + "bob", prefix + "bob2@example.com"));
+        });
+    }
+
+    @Test
+    void testEmailIsUniqueAcrossShards() {
+        repository.save(new User(prefix + "erin", prefix + "shared@example.com"));
+
+        assertThrows(PersistenceException.class, () -> {
+            repository.save(new User(prefix + "frank", prefix + "shared@example.com"));
+        });
+        assertTrue(repository.findByUsername(prefix + "frank").isEmpty());
+    }
+
+    @Test
+    void testChangingEmailReleasesOldEmail() {
+        User saved = repository.save(new User(prefix + "gina", prefix + "gina@example.com"));
+
+        repository.update(new User(saved.getId(), prefix + "gina", prefix + "gina2@example.com"));
+        User other = repository.save(new User(prefix + "hank", prefix + "gina@example.com"));
+
+        assertNotNull(other.getId());
+    }
+
+    @Test
+    void testStaleReservationIsReclaimed() {
+        // Left behind by a crash between the directory and shard writes of an earlier save
+        long missingUserId = new ShardIdGenerator(0).nextId(0);
+        reserve(prefix + "ivan", new UserShardDirectoryEntry(prefix + "ivan", 0, missingUserId,
+                Instant.now().minus(Duration.ofHours(1))));
+        reserve(prefix + "ivan@example.com", new UserEmailDirectoryEntry(prefix + "ivan@example.com", missingUserId,
+                Instant.EPOCH));
+
+        assertTrue(repository.findByUsername(prefix + "ivan").isEmpty());
+        User saved = repository.save(new User(prefix + "ivan", prefix + "ivan@example.com"));
+
+        assertEquals(saved.getId(), repository.findByUsername(prefix + "ivan").get().getId());
+    }
+
+    @Test
+    void testRecentReservationIsNotReclaimed() {
+        // Could belong to a save that is still writing its shard row
+        reserve(prefix + "judy", new UserShardDirectoryEntry(prefix + "judy", 0, new ShardIdGenerator(0).nextId(0)));
+
+        assertThrows(UsernameAlreadyExistsException.class, () -> {
+            repository.save(new User(prefix + "judy", prefix + "judy@example.com"));
+        });
+    }
+
+    @Test
+    void testFindAllAfterMergesShardsById() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(repository.save(new User(prefix + "user" + i, prefix + "user" + i + "@example.com")).getId());
+        }
+        if (shards.size() > 1) {
+            assertTrue(ids.stream().map(ShardIdGenerator::shardOf).distinct().count() > 1);
+        }
+
+        List<Long> firstPage = ids(repository.findAllAfter(ids.get(0) - 1, 10));
+        List<Long> secondPage = ids(repository.findAllAfter(firstPage.get(9), 10));
+
+        List<Long> sorted = ids.stream().sorted().collect(Collectors.toList());
+        assertEquals(sorted.subList(0, 10), firstPage);
+        assertEquals(sorted.subList(10, 20), secondPage.subList(0, 10));
+    }
+
+    @Test
+    void testRenameMovesDirectoryEntry() {
+        User saved = repository.save(new User(prefix + "carol", prefix + "carol@example.com"));
+
+        repository.update(new User(saved.getId(), prefix + "caroline", prefix + "carol@example.com"));
+
+        assertTrue(repository.findByUsername(prefix + "carol").isEmpty());
+        assertEquals(saved.getId(), repository.findByUsername(prefix + "caroline").get().getId());
+    }
+
+    @Test
+    void testDeleteByIdReleasesUsername() {
+        User saved = repository.save(new User(prefix + "dave", prefix + "dave@example.com"));
+
+        repository.deleteById(saved.getId());
+
+        assertFalse(repository.existsById(saved.getId()));
+        assertTrue(repository.findByUsername(prefix + "dave").isEmpty());
+    }
+
+    @Test
+    void testDirectoryEntriesArePartitionedByHash() {
+        String username = prefix + "kate";
+        String email = prefix + "kate@example.com";
+        User saved = repository.save(new User(username, email));
+
+        // A new user lives on the shard its username hashes to, next to its username entry
+        assertEquals(shardOf(username), ShardIdGenerator.shardOf(saved.getId()));
+        for (int i = 0; i < shards.size(); i++) {
+            assertEquals(i == shardOf(username), find(i, UserShardDirectoryEntry.class, username) != null);
+            assertEquals(i == shardOf(email), find(i, UserEmailDirectoryEntry.class, email) != null);
+        }
+    }
+
+    private int shardOf(String key) {
+        return Math.floorMod(key.hashCode(), shards.size());
+    }
+
+    private <T> T find(int shard, Class<T> type, String key) {
+        EntityManager em = shards.get(shard).createEntityManager();
+        try {
+            return em.find(type, key);
+        } finally {
+            em.close();
+        }
+    }
+
+    private void reserve(String key, Object entry) {
+        EntityManager em = shards.get(shardOf(key)).createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.persist(entry);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    private static List<Long> ids(List<User> users) {
+        return users.stream().map(User::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,168 @@
+package com.usercrud.service;
+
+import com.usercrud.domain.UserDeleteJob;
+import com.usercrud.repository.UserDeleteJobRepository;
+import com.usercrud.repository.UserRepository;
+import jakarta.enterprise.event.Event;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserDeleteJobService.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserDeleteJobServiceTest {
+
+    @Mock
+    private UserDeleteJobRepository jobRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserDeleteJobRunner jobRunner;
+
+    @Mock
+    private Event<UsersChangedEvent> usersChanged;
+
+    @InjectMocks
+    private UserDeleteJobService jobService;
+
+    @Test
+    void testSubmitJob_WithUserIds() {
+        when(jobRepository.save(any(UserDeleteJob.class))).thenAnswer(invocation -> {
+            UserDeleteJob job = invocation.getArgument(0);
+            job.setId(10L);
+            return job;
+        });
+
+        UserDeleteJob job = jobService.submitJob(Arrays.asList(3L, 1L, 3L), null);
+
+        assertEquals(10L, job.getId());
+        assertEquals(2, job.getTotalCount());
+        assertEquals(Set.of(1L, 3L), job.getUserIds());
+        assertEquals(UserDeleteJob.Status.PENDING, job.getStatus());
+        verify(jobRunner).schedule(10L);
+    }
+
+    @Test
+    void testSubmitJob_WithUsernamePrefix() {
+        when(userRepository.countByUsernamePrefix("tenant42_")).thenReturn(500L);
+        when(jobRepository.save(any(UserDeleteJob.class))).thenAnswer(invocation -> {
+            UserDeleteJob job = invocation.getArgument(0);
+            job.setId(11L);
+            return job;
+        });
+
+        UserDeleteJob job = jobService.submitJob(null, "tenant42_");
+
+        assertEquals("tenant42_", job.getUsernamePrefix());
+        assertEquals(500L, job.getTotalCount());
+        verify(jobRunner).schedule(11L);
+    }
+
+    @Test
+    void testSubmitJob_NoCriteria() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            jobService.submitJob(Collections.emptyList(), " ");
+        });
+
+        verify(jobRepository, never()).save(any(UserDeleteJob.class));
+    }
+
+    @Test
+    void testSubmitJob_PrefixTooLong() {
+        String prefix = "p".repeat(UserDeleteJob.MAX_USERNAME_PREFIX_LENGTH + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            jobService.submitJob(null, prefix);
+        });
+
+        verify(userRepository, never()).countByUsernamePrefix(anyString());
+        verify(jobRepository, never()).save(any(UserDeleteJob.class));
+    }
+
+    @Test
+    void testSubmitJob_BothCriteria() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            jobService.submitJob(List.of(1L), "tenant42_");
+        });
+
+        verify(jobRepository, never()).save(any(UserDeleteJob.class));
+    }
+
+    @Test
+    void testProcessNextChunk_DeletesAndAdvancesCursor() {
+        UserDeleteJob job = UserDeleteJob.forUserIds(Set.of(1L, 2L, 3L));
+        job.setId(10L);
+        when(jobRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(job));
+        when(jobRepository.findUserIdsAfter(10L, 0L, 2)).thenReturn(List.of(1L, 2L));
+        when(userRepository.deleteAllByIds(List.of(1L, 2L))).thenReturn(2);
+
+        int processed = jobService.processNextChunk(10L, 2);
+
+        assertEquals(2, processed);
+        assertEquals(2L, job.getLastProcessedId());
+        assertEquals(2L, job.getDeletedCount());
+        assertEquals(UserDeleteJob.Status.RUNNING, job.getStatus());
+        verify(jobRepository).update(job);
+        verify(usersChanged).fire(any(UsersChangedEvent.class));
+    }
+
+    @Test
+    void testProcessNextChunk_ByUsernamePrefix() {
+        UserDeleteJob job = UserDeleteJob.forUsernamePrefix("tenant42_", 3);
+        job.setId(11L);
+        job.setLastProcessedId(5L);
+        when(jobRepository.findByIdForUpdate(11L)).thenReturn(Optional.of(job));
+        when(userRepository.findIdsByUsernamePrefix("tenant42_", 5L, 100)).thenReturn(List.of(7L, 9L));
+        when(userRepository.deleteAllByIds(List.of(7L, 9L))).thenReturn(1);
+
+        int processed = jobService.processNextChunk(11L, 100);
+
+        assertEquals(2, processed);
+        assertEquals(9L, job.getLastProcessedId());
+        assertEquals(1L, job.getDeletedCount());
+    }
+
+    @Test
+    void testProcessNextChunk_CompletesWhenNothingLeft() {
+        UserDeleteJob job = UserDeleteJob.forUserIds(Set.of(1L));
+        job.setId(10L);
+        job.setLastProcessedId(1L);
+        when(jobRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(job));
+        when(jobRepository.findUserIdsAfter(10L, 1L, 100)).thenReturn(Collections.emptyList());
+
+        int processed = jobService.processNextChunk(10L, 100);
+
+        assertEquals(0, processed);
+        assertEquals(UserDeleteJob.Status.COMPLETED, job.getStatus());
+        verify(userRepository, never()).deleteAllByIds(any());
+    }
+
+    @Test
+    void testMarkFailed() {
+        UserDeleteJob job = UserDeleteJob.forUserIds(Set.of(1L));
+        job.setId(10L);
+        when(jobRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(job));
+
+        jobService.markFailed(10L, "connection reset");
+
+        assertEquals(UserDeleteJob.Status.FAILED, job.getStatus());
+        assertEquals("connection reset", job.getErrorMessage());
+        verify(jobRepository).update(job);
+    }
+}
@@ -4,6 +4,8 @@ import com.usercrud.domain.User;
 import com.usercrud.exception.UserNotFoundException;
 import com.usercrud.exception.UsernameAlreadyExistsException;
 import com.usercrud.repository.UserRepository;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.PersistenceException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +30,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private Event<UsersChangedEvent> usersChanged;
+
+    @Mock
+    private UsernameFilter usernameFilter;
+
     @InjectMocks
     private UserService userService;
 
@@ -36,6 +44,7 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         testUser = new User(1L, "testuser", "test@example.com");
+        lenient().when(usernameFilter.mightContain(anyString())).thenReturn(true);
     }
 
     @Test
@@ -48,6 +57,7 @@ class UserServiceTest {
         assertNotNull(createdUser);
         assertEquals("testuser", createdUser.getUsername());
         verify(userRepository).save(any(User.class));
+        verify(usersChanged).fire(any(UsersChangedEvent.class));
     }
 
     @Test
@@ -59,6 +69,7 @@ class UserServiceTest {
         });
         
         verify(userRepository, never()).save(any(User.class));
+        verify(usersChanged, never()).fire(any(UsersChangedEvent.class));
     }
 
     @Test
@@ -112,6 +123,33 @@ class UserServiceTest {
         verify(userRepository).findAll();
     }
 
+    @Test
+    void testGetUsersPage() {
+        List<User> users = Arrays.asList(new User(5L, "user5", "user5@example.com"));
+        when(userRepository.findAllAfter(4L, 1)).thenReturn(users);
+
+        List<User> result = userService.getUsersPage(4L, 1);
+
+        assertEquals(1, result.size());
+        verify(userRepository).findAllAfter(4L, 1);
+    }
+
+    @Test
+    void testGetUsersPage_FirstPage() {
+        when(userRepository.findAllAfter(0L, 10)).thenReturn(List.of());
+
+        userService.getUsersPage(null, 10);
+
+        verify(userRepository).findAllAfter(0L, 10);
+    }
+
+    @Test
+    void testGetUsersPage_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            userService.getUsersPage(null, 0);
+        });
+    }
+
     @Test
     void testUpdateUser_Success() {
         User updatedData = new User(null, "newusername", "newemail@example.com");
@@ -156,6 +194,7 @@ class UserServiceTest {
         userService.deleteUser(1L);
 
         verify(userRepository).deleteById(1L);
+        verify(usersChanged).fire(any(UsersChangedEvent.class));
     }
 
     @Test
@@ -178,4 +217,62 @@ class UserServiceTest {
         assertTrue(exists);
         verify(userRepository).existsById(1L);
     }
+
+    @Test
+    void testCreateUser_FilterMissSkipsUsernameQuery() {
+        when(usernameFilter.mightContain("testuser")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        userService.createUser(testUser);
+
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(usernameFilter).add("testuser");
+    }
+
+    @Test
+    void testIsUsernameAvailable() {
+        when(usernameFilter.mightContain("newuser")).thenReturn(false);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        assertTrue(userService.isUsernameAvailable("newuser"));
+        assertFalse(userService.isUsernameAvailable("testuser"));
+        verify(userRepository, never()).findByUsername("newuser");
+    }
+
+    @Test
+    void testCreateUser_ConstraintViolationAfterFilterMiss() {
+        User remoteUser = new User(2L, "testuser", "remote@example.com");
+        when(usernameFilter.mightContain("testuser")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenThrow(new PersistenceException("duplicate key"));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(remoteUser));
+
+        assertThrows(UsernameAlreadyExistsException.class, () -> userService.createUser(testUser));
+        verify(usernameFilter).add("testuser");
+        verify(usersChanged, never()).fire(any(UsersChangedEvent.class));
+    }
+
+    @Test
+    void testCreateUser_OtherConstraintViolationIsRethrown() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenThrow(new PersistenceException("duplicate email"));
+
+        assertThrows(PersistenceException.class, () -> userService.createUser(testUser));
+    }
+
+    @Test
+    void testUpdateUser_ConstraintViolationAfterFilterMiss() {
+        User updatedData = new User(null, "remoteuser", null);
+        User remoteUser = new User(2L, "remoteuser", "remote@example.com");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(usernameFilter.mightContain("remoteuser")).thenReturn(false);
+        when(userRepository.update(any(User.class))).thenThrow(new PersistenceException("duplicate key"));
+        when(userRepository.findByUsername("remoteuser")).thenReturn(Optional.of(remoteUser));
+
+        assertThrows(UsernameAlreadyExistsException.class, () -> userService.updateUser(1L, updatedData));
+    }
+
+    @Test
+    void testIsUsernameAvailable_EmptyUsername() {
+        assertThrows(IllegalArgumentException.class, () -> userService.isUsernameAvailable(" "));
+    }
 }
@@ -0,0 +1,75 @@
+package com.usercrud.service;
+
+import com.usercrud.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UsernameFilter.
+ */
+@ExtendWith(MockitoExtension.class)
+class UsernameFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UsernameFilter usernameFilter;
+
+    @Test
+    void testEverythingMightExistBeforeFirstBuild() {
+        assertTrue(usernameFilter.mightContain("anyone"));
+        assertFalse(usernameFilter.getStats().isReady());
+    }
+
+    @Test
+    void testRebuildLoadsUsernamesAndCountsMisses() {
+        when(userRepository.findAllUsernames()).thenReturn(List.of("alice", "bob"));
+
+        usernameFilter.rebuild();
+
+        assertTrue(usernameFilter.mightContain("alice"));
+        assertTrue(usernameFilter.mightContain("bob"));
+        assertFalse(usernameFilter.mightContain("carol"));
+        UsernameFilter.Stats stats = usernameFilter.getStats();
+        assertTrue(stats.isReady());
+        assertEquals(3, stats.getQueries());
+        assertEquals(1, stats.getDefiniteMisses());
+    }
+
+    @Test
+    void testAddedUsernamesSurviveConcurrentRebuild() {
+        when(userRepository.findAllUsernames()).thenReturn(List.of("alice"));
+        usernameFilter.rebuild();
+        // Simulate a user created after the rebuild has read the usernames
+        when(userRepository.findAllUsernames()).thenAnswer(invocation -> {
+            usernameFilter.add("carol");
+            return List.of("alice");
+        });
+
+        usernameFilter.rebuild();
+
+        assertTrue(usernameFilter.mightContain("carol"));
+    }
+
+    @Test
+    void testInvalidFalsePositiveRateFailsAtCreation() {
+        for (String value : new String[]{"1.0", "0", "-0.5", "NaN", "one percent"}) {
+            System.setProperty(UsernameFilter.FALSE_POSITIVE_RATE, value);
+            try {
+                IllegalStateException e = assertThrows(IllegalStateException.class, UsernameFilter::new);
+                assertTrue(e.getMessage().contains(UsernameFilter.FALSE_POSITIVE_RATE), e.getMessage());
+            } finally {
+                System.clearProperty(UsernameFilter.FALSE_POSITIVE_RATE);
+            }
+        }
+    }
+}